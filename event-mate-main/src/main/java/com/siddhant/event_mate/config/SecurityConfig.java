@@ -41,7 +41,7 @@ public class SecurityConfig {
                                 "/api/public/**",
                                 "/api/events/**",
                                 "/api/reviews/event/**",
-                                "/api/bookings/event/*/seats",
+                                "/api/bookings/event/*/seats/**",
                                 "/api/ai/chat",
                                 "/api/seating-layouts/**",
                                 "/error")
@@ -63,6 +63,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(java.util.List.of("*")); // Allow all origins
         configuration.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(java.util.List.of("*"));
+        configuration.setExposedHeaders(java.util.List.of("X-Next-Cursor", "Retry-After", "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         org.springframework.web.cors.UrlBasedCorsConfigurationSource source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,13 +1,19 @@
 package com.siddhant.event_mate.controller;
 
 import com.siddhant.event_mate.dto.BookingDto;
+import com.siddhant.event_mate.service.AdmissionQueueService;
 import com.siddhant.event_mate.service.BookingService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,9 +22,28 @@ import java.util.List;
 public class AdminController {
 
     private final BookingService bookingService;
+    private final AdmissionQueueService admissionQueueService;
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<BookingDto.BookingResponse>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<List<BookingDto.BookingResponse>> getAllBookings(
+            BookingDto.BookingFilter filter,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return BookingController.toPageResponse(bookingService.getAllBookings(filter, cursor, limit));
+    }
+
+    @GetMapping("/bookings/export")
+    public void exportBookings(BookingDto.BookingFilter filter,
+                               @RequestParam(defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        BookingController.prepareExport(response, format);
+        bookingService.exportBookings(filter, false, format, response.getOutputStream());
+    }
+
+    // Raise or throttle the booking admission rate of an event, e.g. ahead of an on-sale
+    @PutMapping("/events/{eventId}/admission-rate")
+    public ResponseEntity<Void> setAdmissionRate(@PathVariable Long eventId, @RequestParam double perSecond) {
+        admissionQueueService.setAdmitRate(eventId, perSecond);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -2,11 +2,27 @@
 package com.siddhant.event_mate.controller;
 
 import com.siddhant.event_mate.dto.BookingDto;
+import com.siddhant.event_mate.dto.CheckInDto;
+import com.siddhant.event_mate.dto.SeatAvailabilityDto;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.service.AdmissionQueueService;
 import com.siddhant.event_mate.service.BookingService;
+import com.siddhant.event_mate.service.CheckInService;
+import com.siddhant.event_mate.service.IdempotencyService;
+import com.siddhant.event_mate.service.SeatInventoryService;
+import com.siddhant.event_mate.service.SeatStreamService;
+import com.siddhant.event_mate.service.ShowAllocationSequencer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,22 +30,98 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final SeatStreamService seatStreamService;
+    private final IdempotencyService idempotencyService;
+    private final AdmissionQueueService admissionQueueService;
+    private final CheckInService checkInService;
+    private final ShowAllocationSequencer showAllocationSequencer;
 
     @PostMapping
-    public ResponseEntity<BookingDto.BookingResponse> createBooking(@RequestBody BookingDto.BookingRequest request) {
-        return ResponseEntity.ok(bookingService.createBooking(request));
+    public ResponseEntity<BookingDto.BookingResponse> createBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = AdmissionQueueService.TOKEN_HEADER, required = false) String queueToken,
+            @RequestBody BookingDto.BookingRequest request) {
+        // Redeeming a hold already went through the waiting room at /holds
+        if (!bookingService.isOwnActiveHold(request.getHoldId(), request.getEventId())) {
+            admissionQueueService.admit(request.getEventId(), queueToken);
+        }
+        // The show lock is queued for before any transaction opens, idempotency's included
+        return showAllocationSequencer.inOrder(request.getEventId(), request.getShowDate(),
+                () -> idempotencyService.execute(idempotencyKey, "create-booking", request,
+                        BookingDto.BookingResponse.class, () -> ResponseEntity.ok(bookingService.createBooking(request))));
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<BookingDto.HoldResponse> holdSeats(
+            @RequestHeader(value = AdmissionQueueService.TOKEN_HEADER, required = false) String queueToken,
+            @RequestBody BookingDto.HoldRequest request) {
+        admissionQueueService.admit(request.getEventId(), queueToken);
+        return ResponseEntity.ok(showAllocationSequencer.inOrder(request.getEventId(), request.getShowDate(),
+                () -> bookingService.holdSeats(request)));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        bookingService.releaseHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Waiting room: join when booking is rejected with 429, then poll until admitted
+    @PostMapping("/queue/{eventId}")
+    public ResponseEntity<BookingDto.QueueStatus> joinQueue(@PathVariable Long eventId) {
+        return ResponseEntity.ok(admissionQueueService.join(eventId));
+    }
+
+    @GetMapping("/queue/status")
+    public ResponseEntity<BookingDto.QueueStatus> getQueueStatus(
+            @RequestHeader(AdmissionQueueService.TOKEN_HEADER) String queueToken) {
+        BookingDto.QueueStatus status = admissionQueueService.getStatus(queueToken);
+        if (status.isAdmitted()) {
+            return ResponseEntity.ok(status);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.min(Math.max(status.getEstimatedWaitSeconds(), 1), 30)))
+                .body(status);
     }
 
     @PostMapping("/{bookingId}/confirm")
-    public ResponseEntity<Void> confirmBooking(@PathVariable Long bookingId, @RequestParam String paymentMethod) {
-        bookingService.confirmBookingPayment(bookingId, paymentMethod);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> confirmBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long bookingId, @RequestParam String paymentMethod) {
+        return idempotencyService.execute(idempotencyKey, "confirm-booking", List.of(bookingId, paymentMethod),
+                Void.class, () -> {
+                    bookingService.confirmBookingPayment(bookingId, paymentMethod);
+                    return ResponseEntity.ok().build();
+                });
     }
 
+    // Paged (default 50) once cursor or limit is sent, otherwise the full list
     @GetMapping("/my-bookings")
-    public ResponseEntity<List<BookingDto.BookingResponse>> getUserBookings() {
-        return ResponseEntity.ok(bookingService.getUserBookings());
+    public ResponseEntity<List<BookingDto.BookingResponse>> getUserBookings(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toPageResponse(bookingService.getUserBookings(cursor, limit));
+    }
+
+    // Newest first; pass X-Next-Cursor back as cursor to get the next page
+    static ResponseEntity<List<BookingDto.BookingResponse>> toPageResponse(BookingDto.BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getBookings());
+    }
+
+    static void prepareExport(HttpServletResponse response, String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"json".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Export format must be csv or json.");
+        }
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings." + (csv ? "csv" : "json"));
     }
 
     @GetMapping("/event/{eventId}/seats")
@@ -41,13 +133,64 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookedSeats(eventId));
     }
 
+    // Compact availability: one bitset per section. Clients pass the last version they saw
+    // and get 304 Not Modified while the seat map is unchanged.
+    @GetMapping(value = "/event/{eventId}/seats/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SeatAvailabilityDto> getSeatAvailability(@PathVariable Long eventId,
+                                                                   @RequestParam java.time.LocalDateTime showDate,
+                                                                   @RequestParam(required = false) Long sinceVersion) {
+        if (sinceVersion != null && sinceVersion == bookingService.getSeatVersion(eventId, showDate)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(bookingService.getSeatAvailability(eventId, showDate));
+    }
+
+    @GetMapping(value = "/event/{eventId}/seats/availability", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getSeatAvailabilityBinary(@PathVariable Long eventId,
+                                                            @RequestParam java.time.LocalDateTime showDate,
+                                                            @RequestParam(required = false) Long sinceVersion) {
+        if (sinceVersion != null && sinceVersion == bookingService.getSeatVersion(eventId, showDate)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(SeatInventoryService.toBinary(bookingService.getSeatAvailability(eventId, showDate)));
+    }
+
+    @GetMapping(value = "/event/{eventId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long eventId, @RequestParam java.time.LocalDateTime showDate,
+                                  HttpServletRequest request) {
+        bookingService.getSeatVersion(eventId, showDate); // validates the show
+        // Open to anonymous visitors (EventSource cannot send a bearer token), so they are told apart by address
+        String client = request.getUserPrincipal() != null
+                ? "user:" + request.getUserPrincipal().getName()
+                : "address:" + request.getRemoteAddr();
+        return seatStreamService.subscribe(eventId, showDate, client);
+    }
+
+    // Same paging rules as my-bookings
     @GetMapping("/organizer")
-    public ResponseEntity<List<BookingDto.BookingResponse>> getOrganizerBookings() {
-        return ResponseEntity.ok(bookingService.getOrganizerBookings());
+    public ResponseEntity<List<BookingDto.BookingResponse>> getOrganizerBookings(
+            BookingDto.BookingFilter filter,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toPageResponse(bookingService.getOrganizerBookings(filter, cursor, limit));
+    }
+
+    @GetMapping("/organizer/export")
+    public void exportOrganizerBookings(BookingDto.BookingFilter filter,
+                                        @RequestParam(defaultValue = "csv") String format,
+                                        HttpServletResponse response) throws IOException {
+        prepareExport(response, format);
+        bookingService.exportBookings(filter, true, format, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<BookingDto.BookingResponse> getBookingById(@PathVariable Long id) {
         return ResponseEntity.ok(bookingService.getBookingById(id));
     }
-}
\ No newline at end of file
+
+    // Signed QR tokens of a paid booking, one per ticket
+    @GetMapping("/{id}/tickets")
+    public ResponseEntity<List<CheckInDto.TicketPass>> getTicketPasses(@PathVariable Long id) {
+        return ResponseEntity.ok(checkInService.getTicketPasses(id));
+    }
+}
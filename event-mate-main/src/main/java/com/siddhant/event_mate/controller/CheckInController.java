@@ -0,0 +1,32 @@
+package com.siddhant.event_mate.controller;
+
+import com.siddhant.event_mate.dto.CheckInDto;
+import com.siddhant.event_mate.service.CheckInService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Entry gates: scanners of the event organizer (or an admin) check tickets in per show
+@RestController
+@RequestMapping("/api/checkin")
+@RequiredArgsConstructor
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    @PostMapping("/shows/{eventId}/scan")
+    public ResponseEntity<List<CheckInDto.ScanResult>> scan(@PathVariable Long eventId,
+                                                            @RequestParam LocalDateTime showDate,
+                                                            @RequestBody CheckInDto.ScanRequest request) {
+        return ResponseEntity.ok(checkInService.scan(eventId, showDate, request.getTokens()));
+    }
+
+    @GetMapping("/shows/{eventId}/manifest")
+    public ResponseEntity<CheckInDto.Manifest> getManifest(@PathVariable Long eventId,
+                                                           @RequestParam LocalDateTime showDate) {
+        return ResponseEntity.ok(checkInService.getManifest(eventId, showDate));
+    }
+}
@@ -2,13 +2,24 @@
 package com.siddhant.event_mate.controller;
 
 import com.siddhant.event_mate.dto.EventDto;
+import com.siddhant.event_mate.dto.EventFacetDto;
+import com.siddhant.event_mate.dto.EventSuggestionDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.service.EventFacetIndex;
+import com.siddhant.event_mate.service.EventSearchIndex;
 import com.siddhant.event_mate.service.EventService;
+import com.siddhant.event_mate.service.EventSuggestIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,10 +28,31 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventSuggestIndex eventSuggestIndex;
+    private final EventFacetIndex eventFacetIndex;
 
+    private static final int DEFAULT_LIMIT = 100;
+
+    // Catalog cards, one per event group; pass X-Next-Cursor back as cursor for the next page.
+    // Without sort, cursor and limit the full EventDto list is returned, as before paging.
+    // Conditional: 304 Not Modified while the catalog is unchanged since the client's copy.
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<?> getAllEvents(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(eventService.getCatalogTag(), eventService.getCatalogLastModified())) {
+            return null;
+        }
+        // no-cache rather than Spring Security's default no-store, so clients keep a copy to revalidate
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (isUnpaged(sort, cursor, limit)) {
+            return response.body(eventService.getUniqueEvents(category));
+        }
+        return toPageResponse(response, getEventSummaries(category, sort, cursor, limit));
     }
 
     @GetMapping("/all")
@@ -29,9 +61,23 @@ public class EventController {
         return ResponseEntity.ok(eventService.getAllEventsAdmin());
     }
 
+    // Conditional as well; for one show the ETag also covers its remaining seats
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventDto> getEventById(@PathVariable Long id,
+                                                 @RequestParam(required = false) java.time.LocalDateTime showDate,
+                                                 WebRequest request) {
+        if (showDate != null) {
+            // Seat counts change without touching the catalog, so only the ETag can tell
+            if (request.checkNotModified(eventService.getEventTag(id, showDate))) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                    .body(eventService.getEventById(id, showDate));
+        }
+        if (request.checkNotModified(eventService.getEventTag(id, null), eventService.getCatalogLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(eventService.getEventById(id));
     }
 
     @GetMapping("/group/{groupId}")
@@ -62,8 +108,70 @@ public class EventController {
         return ResponseEntity.noContent().build();
     }
 
+    // With q, the best full-text matches (optionally within category); without, one category's cards
     @GetMapping("/search")
-    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam String category) {
-        return ResponseEntity.ok(eventService.searchEvents(category));
+    public ResponseEntity<?> searchEvents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (q != null && !q.isBlank()) {
+            return ResponseEntity.ok(eventSearchIndex.search(q, category, limit != null ? limit : DEFAULT_LIMIT));
+        }
+        if (category == null) {
+            throw new BadRequestException("Either q or category is required");
+        }
+        if (isUnpaged(sort, cursor, limit)) {
+            return ResponseEntity.ok(eventService.getUniqueEvents(category));
+        }
+        return toPageResponse(ResponseEntity.ok(), getEventSummaries(category, sort, cursor, limit));
+    }
+
+    // Type-ahead, called per keystroke; served from memory
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EventSuggestionDto>> suggest(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(eventSuggestIndex.suggest(q, limit));
+    }
+
+    // Filter parameters may repeat (category=Movie&category=Concert); counts come back per facet value
+    @GetMapping("/facets")
+    public ResponseEntity<EventFacetDto.Result> filterEvents(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) List<String> movieMode,
+            @RequestParam(required = false) List<String> censorRating,
+            @RequestParam(required = false) List<String> venue,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "100") int limit) {
+        EventFacetDto.Filter filter = EventFacetDto.Filter.builder()
+                .category(category)
+                .priceBand(priceBand)
+                .movieMode(movieMode)
+                .censorRating(censorRating)
+                .venue(venue)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(eventFacetIndex.filter(filter, limit));
+    }
+
+    private static boolean isUnpaged(String sort, String cursor, Integer limit) {
+        return sort == null && cursor == null && limit == null;
+    }
+
+    private EventSummaryDto.Page getEventSummaries(String category, String sort, String cursor, Integer limit) {
+        return eventService.getEventSummaries(category, sort != null ? sort : "date", cursor,
+                limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    private static ResponseEntity<List<EventSummaryDto>> toPageResponse(ResponseEntity.BodyBuilder response,
+                                                                        EventSummaryDto.Page page) {
+        if (page.getNextCursor() != null) {
+            response.header(BookingController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEvents());
     }
 }
\ No newline at end of file
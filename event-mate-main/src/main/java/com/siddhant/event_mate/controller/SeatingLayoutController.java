@@ -3,9 +3,11 @@ package com.siddhant.event_mate.controller;
 import com.siddhant.event_mate.entity.SeatingLayout;
 import com.siddhant.event_mate.service.SeatingLayoutService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,14 +24,22 @@ public class SeatingLayoutController {
         return ResponseEntity.ok(service.createLayout(layout));
     }
 
+    // Conditional: 304 Not Modified while no layout was written since the client's copy;
+    // no-cache (instead of no-store) lets clients keep that copy
     @GetMapping
-    public ResponseEntity<List<SeatingLayout>> getAllLayouts() {
-        return ResponseEntity.ok(service.getAllLayouts());
+    public ResponseEntity<List<SeatingLayout>> getAllLayouts(WebRequest request) {
+        if (request.checkNotModified(service.getTag(), service.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(service.getAllLayouts());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SeatingLayout> getLayoutById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getLayoutById(id));
+    public ResponseEntity<SeatingLayout> getLayoutById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(service.getTag(), service.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(service.getLayoutById(id));
     }
 
     @DeleteMapping("/{id}")
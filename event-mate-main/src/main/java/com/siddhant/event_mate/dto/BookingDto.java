@@ -20,6 +20,40 @@ public class BookingDto {
         private LocalDateTime showDate;
         private List<TicketRequest> tickets;
         private String paymentMethod;
+        private String holdId; // optional, books the seats of an active seat hold
+        private SeatPreference bestAvailable; // optional, lets the server pick the seats instead of tickets
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatPreference {
+        private Long sectionId;
+        private int quantity;
+        private Integer preferredRow; // defaults to the middle row of the section
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HoldRequest {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private List<TicketRequest> tickets;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HoldResponse {
+        private String holdId;
+        private Long eventId;
+        private LocalDateTime showDate;
+        private List<String> seats;
+        private LocalDateTime expiresAt;
     }
 
     @Data
@@ -48,4 +82,37 @@ public class BookingDto {
         private String customerName;
         private String customerEmail;
     }
-}
\ No newline at end of file
+
+    // Optional filters for booking listings and exports, bound from query parameters
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookingFilter {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private String status;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookingPage {
+        private List<BookingResponse> bookings;
+        private Long nextCursor; // null on the last page
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class QueueStatus {
+        private String token;
+        private Long eventId;
+        private boolean admitted;
+        private long position; // place in line, 0 once admitted
+        private long estimatedWaitSeconds;
+        private LocalDateTime admittedUntil;
+    }
+}
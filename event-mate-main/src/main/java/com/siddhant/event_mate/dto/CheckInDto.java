@@ -0,0 +1,70 @@
+package com.siddhant.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CheckInDto {
+
+    public enum ScanOutcome {
+        ADMITTED,
+        ALREADY_CHECKED_IN,
+        WRONG_SHOW,
+        INVALID
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TicketPass {
+        private Long ticketId;
+        private String seatNo;
+        private String token; // encode as the ticket's QR code
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ScanRequest {
+        private List<String> tokens; // one live scan, or a backlog a gate collected while offline
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ScanResult {
+        private String token;
+        private ScanOutcome outcome;
+        private Long ticketId; // null when the token is invalid
+        private String seat;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Manifest {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private LocalDateTime generatedAt;
+        private List<ManifestEntry> tickets;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ManifestEntry {
+        private Long ticketId;
+        private String seat;
+        private String token;
+        private boolean checkedIn;
+    }
+}
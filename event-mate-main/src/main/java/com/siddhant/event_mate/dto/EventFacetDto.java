@@ -0,0 +1,40 @@
+package com.siddhant.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class EventFacetDto {
+
+    // Values within a facet are alternatives; facets combine with AND. Empty lists don't filter.
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Filter {
+        private List<String> category;
+        private List<String> priceBand;
+        private List<String> movieMode;
+        private List<String> censorRating;
+        private List<String> venue;
+        private LocalDate from; // events running on any day from..to, inclusive
+        private LocalDate to;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        private List<EventSummaryDto> events; // one card per event group, soonest first
+        private int total; // matching event groups
+        // facet -> value -> matching event groups if that value were selected instead,
+        // i.e. counted under every other facet's selection
+        private Map<String, Map<String, Integer>> facets;
+    }
+}
@@ -19,4 +19,7 @@ public class EventSectionDto {
     private int rows;
     private int cols;
     private String layoutConfig;
+    // Filled only when a specific show is requested
+    private Integer capacity;
+    private Integer remainingSeats;
 }
\ No newline at end of file
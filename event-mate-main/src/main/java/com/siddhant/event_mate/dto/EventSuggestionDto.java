@@ -0,0 +1,21 @@
+package com.siddhant.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Type-ahead entry: an event title (with the event to open) or a cast member to search for
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSuggestionDto {
+    public enum Kind {
+        TITLE, CAST
+    }
+
+    private String text;
+    private Kind kind;
+    private Long eventId; // titles only
+}
@@ -0,0 +1,39 @@
+package com.siddhant.event_mate.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Catalog listing card: just enough to render an event tile; EventDto carries the rest
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSummaryDto {
+    private Long id;
+    private String title;
+    private String category;
+    @com.fasterxml.jackson.databind.annotation.JsonSerialize(using = com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private java.time.LocalDate startDate;
+    @com.fasterxml.jackson.databind.annotation.JsonSerialize(using = com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private java.time.LocalDate endDate;
+    private BigDecimal minPrice; // cheapest section, or the event price without sections
+    private String imageUrl;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Page {
+        private List<EventSummaryDto> events;
+        private String nextCursor; // null on the last page
+    }
+}
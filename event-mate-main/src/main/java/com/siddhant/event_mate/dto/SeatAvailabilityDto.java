@@ -0,0 +1,59 @@
+package com.siddhant.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Seat availability of one show as one bitset per section. Bit i of a section
+ * (little-endian within each byte) is the seat at row i / cols + 1, col i % cols + 1;
+ * a set bit means the seat is taken. In JSON the bitsets are base64 encoded.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatAvailabilityDto {
+    private Long eventId;
+    private LocalDateTime showDate;
+    private long version;
+    private List<SectionAvailability> sections;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SectionAvailability {
+        private Long sectionId;
+        private String name;
+        private int rows;
+        private int cols;
+        private int capacity;
+        private int remaining;
+        private byte[] taken;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatChange {
+        private long version;
+        private String status; // "taken" or "released"
+        private List<SeatRef> seats;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatRef {
+        private Long sectionId;
+        private int row;
+        private int col;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,7 +38,10 @@ public class Event {
     @Column(nullable = false)
     private java.time.LocalDate endDate;
 
+    // Collections load by subselect: one query per collection for a whole list of
+    // events, instead of one per event
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "event_show_times", joinColumns = @JoinColumn(name = "event_id"))
     @Column(name = "show_time")
     private java.util.List<java.time.LocalTime> showTimes;
@@ -53,6 +58,7 @@ public class Event {
     private String trailerUrl;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     private java.util.List<String> mediaUrls;
 
     private Integer duration; // in minutes
@@ -60,6 +66,7 @@ public class Event {
     private String censorRating;
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     private java.util.List<EventSection> sections;
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -71,11 +78,18 @@ public class Event {
 
     private String groupId;
 
+    // Whether this event is its group's catalog card: the lowest id of the group, or an
+    // ungrouped event. Written only by EventRepository.refreshGroupRepresentatives.
+    @Column(name = "group_representative", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "boolean default true")
+    private Boolean groupRepresentative;
+
     private Double imdbRating;
 
     private String movieMode;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "event_cast", joinColumns = @JoinColumn(name = "event_id"))
     @Column(name = "cast_name")
     private java.util.List<String> cast;
@@ -38,6 +38,11 @@ public class Ticket {
     @Column(nullable = false)
     private java.math.BigDecimal price;
 
+    // Copy of the booking's show date; idx_tickets_show_seat keeps each seat of a show
+    // to one ticket that is not CANCELLED
+    @Column(name = "show_date")
+    private java.time.LocalDateTime showDate;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TicketStatus status;
@@ -2,11 +2,23 @@ package com.siddhant.event_mate.repository;
 
 
 import com.siddhant.event_mate.entity.Booking;
+import com.siddhant.event_mate.entity.PaymentStatus;
 import com.siddhant.event_mate.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -19,6 +31,107 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByEventIdAndShowDate(Long eventId, java.time.LocalDateTime showDate);
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "tickets", "event", "user", "payment" })
-    List<Booking> findByEventOrganizer(User organizer);
+    // Serializes payment confirmation against the pending-booking reaper
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    // Next keyset page of PENDING bookings older than the cutoff, served by
+    // idx_bookings_status_date. Rows locked by a concurrent confirmation are skipped.
+    @Query(value = "SELECT b.id AS id, b.booking_date AS bookingDate FROM bookings b "
+            + "WHERE b.payment_status = 'PENDING' AND b.booking_date < :cutoff "
+            + "AND (b.booking_date, b.id) > (:afterDate, :afterId) "
+            + "ORDER BY b.booking_date, b.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BookingKey> lockStalePending(@Param("cutoff") LocalDateTime cutoff,
+                                      @Param("afterDate") LocalDateTime afterDate,
+                                      @Param("afterId") Long afterId,
+                                      @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.paymentStatus = :to WHERE b.id IN :ids AND b.paymentStatus = :from")
+    int updatePaymentStatus(@Param("ids") Collection<Long> ids,
+                            @Param("from") PaymentStatus from,
+                            @Param("to") PaymentStatus to);
+
+    // Read model for booking listings: one row per booking with its seat labels joined
+    // by U+001F, newest first, so a page is a single query without entity hydration
+    String VIEW_SELECT = "SELECT b.id AS bookingId, b.event_id AS eventId, e.title AS eventTitle, "
+            + "b.booking_date AS bookingDate, b.show_date AS showDate, b.payment_status AS paymentStatus, "
+            + "b.total_amount AS totalAmount, u.name AS customerName, u.email AS customerEmail, "
+            + "(SELECT string_agg(t.seat_no, chr(31) ORDER BY t.id) FROM tickets t WHERE t.booking_id = b.id) "
+            + "AS seatLabels "
+            + "FROM bookings b JOIN events e ON e.id = b.event_id JOIN users u ON u.id = b.user_id ";
+
+    @Query(value = VIEW_SELECT + "WHERE b.user_id = :userId AND b.id < :beforeId ORDER BY b.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<BookingView> findViewsByUserId(@Param("userId") Long userId,
+                                        @Param("beforeId") Long beforeId,
+                                        @Param("limit") int limit);
+
+    // Optional filters are passed as null; the casts give Postgres a type for null parameters
+    String VIEW_FILTER = "WHERE (CAST(:organizerId AS BIGINT) IS NULL OR e.organizer_id = CAST(:organizerId AS BIGINT)) "
+            + "AND (CAST(:eventId AS BIGINT) IS NULL OR b.event_id = CAST(:eventId AS BIGINT)) "
+            + "AND (CAST(:showDate AS TIMESTAMP) IS NULL OR b.show_date = CAST(:showDate AS TIMESTAMP)) "
+            + "AND (CAST(:status AS VARCHAR) IS NULL OR b.payment_status = CAST(:status AS VARCHAR)) ";
+
+    @Query(value = VIEW_SELECT + VIEW_FILTER + "AND b.id < :beforeId ORDER BY b.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<BookingView> findViews(@Param("organizerId") Long organizerId,
+                                @Param("eventId") Long eventId,
+                                @Param("showDate") LocalDateTime showDate,
+                                @Param("status") String status,
+                                @Param("beforeId") Long beforeId,
+                                @Param("limit") int limit);
+
+    // Server-side cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = VIEW_SELECT + VIEW_FILTER + "ORDER BY b.id DESC", nativeQuery = true)
+    Stream<BookingView> streamViews(@Param("organizerId") Long organizerId,
+                                    @Param("eventId") Long eventId,
+                                    @Param("showDate") LocalDateTime showDate,
+                                    @Param("status") String status);
+
+    @Query(value = VIEW_SELECT + "WHERE b.id = :id", nativeQuery = true)
+    Optional<BookingView> findViewById(@Param("id") Long id);
+
+    // Tickets sold per event since a date, for ranking catalog suggestions
+    @Query(value = "SELECT b.event_id AS eventId, COUNT(t.id) AS tickets FROM bookings b "
+            + "JOIN tickets t ON t.booking_id = b.id "
+            + "WHERE b.payment_status = 'COMPLETED' AND b.booking_date >= :since GROUP BY b.event_id",
+            nativeQuery = true)
+    List<EventTicketCount> countTicketsSoldByEvent(@Param("since") LocalDateTime since);
+
+    interface EventTicketCount {
+        Long getEventId();
+
+        Long getTickets();
+    }
+
+    interface BookingView {
+        Long getBookingId();
+
+        Long getEventId();
+
+        String getEventTitle();
+
+        LocalDateTime getBookingDate();
+
+        LocalDateTime getShowDate();
+
+        String getPaymentStatus();
+
+        java.math.BigDecimal getTotalAmount();
+
+        String getCustomerName();
+
+        String getCustomerEmail();
+
+        String getSeatLabels();
+    }
+
+    interface BookingKey {
+        Long getId();
+
+        LocalDateTime getBookingDate();
+    }
 }
@@ -0,0 +1,33 @@
+package com.siddhant.event_mate.repository;
+
+import com.siddhant.event_mate.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Due messages in order; rows another dispatcher is claiming are skipped
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :sent, m.sentAt = :sentAt, m.lastError = null "
+            + "WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("sent") EmailOutboxMessage.OutboxStatus sent,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = :sent AND m.sentAt < :before")
+    int deleteSentBefore(@Param("sent") EmailOutboxMessage.OutboxStatus sent,
+                         @Param("before") LocalDateTime before);
+}
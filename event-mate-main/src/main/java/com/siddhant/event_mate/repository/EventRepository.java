@@ -2,8 +2,13 @@ package com.siddhant.event_mate.repository;
 
 import com.siddhant.event_mate.entity.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,15 +21,65 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Fetch all events belonging to the same group, ordered by date
     List<Event> findByGroupIdOrderByStartDateAsc(String groupId);
 
-    // Fetch one event per group (for the home page display)
-    // This query selects the event with the minimum ID for each groupId, PLUS all
-    // events with null groupId
-    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId)")
-    List<Event> findUniqueEventsByGroupId();
+    boolean existsByTitle(String title);
 
-    // Fetch one event per group filtered by category
-    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.category = ?1 AND (e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId))")
-    List<Event> findUniqueEventsByCategory(String category);
+    // One event per group as full entities, for listings requested without paging
+    List<Event> findByGroupRepresentativeTrueOrderByStartDateAscIdAsc();
 
-    boolean existsByTitle(String title);
-}
\ No newline at end of file
+    List<Event> findByCategoryAndGroupRepresentativeTrueOrderByStartDateAscIdAsc(String category);
+
+    // Catalog cards, one per group, as a single query without entity hydration. Wrapped in a
+    // derived table so every sort key, including the computed min price, can drive a keyset.
+    // Date and title pages are range scans of the partial idx_events_catalog_* indexes.
+    String SUMMARY_SELECT = "SELECT * FROM (SELECT e.id AS id, e.title AS title, e.category AS category, "
+            + "e.start_date AS startDate, e.end_date AS endDate, e.image_url AS imageUrl, "
+            + "COALESCE((SELECT MIN(s.price) FROM event_sections s WHERE s.event_id = e.id), e.price) AS minPrice "
+            + "FROM events e WHERE (CAST(:category AS VARCHAR) IS NULL OR e.category = CAST(:category AS VARCHAR)) "
+            + "AND e.group_representative) v "
+            + "WHERE CAST(:afterId AS BIGINT) IS NULL OR ";
+
+    @Query(value = SUMMARY_SELECT + "(v.startDate, v.id) > (CAST(:afterDate AS DATE), CAST(:afterId AS BIGINT)) "
+            + "ORDER BY v.startDate, v.id LIMIT :limit", nativeQuery = true)
+    List<EventSummaryView> findSummariesByDate(@Param("category") String category,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") Long afterId,
+                                               @Param("limit") int limit);
+
+    @Query(value = SUMMARY_SELECT + "(v.title, v.id) > (CAST(:afterTitle AS VARCHAR), CAST(:afterId AS BIGINT)) "
+            + "ORDER BY v.title, v.id LIMIT :limit", nativeQuery = true)
+    List<EventSummaryView> findSummariesByTitle(@Param("category") String category,
+                                                @Param("afterTitle") String afterTitle,
+                                                @Param("afterId") Long afterId,
+                                                @Param("limit") int limit);
+
+    @Query(value = SUMMARY_SELECT + "(v.minPrice, v.id) > (CAST(:afterPrice AS NUMERIC), CAST(:afterId AS BIGINT)) "
+            + "ORDER BY v.minPrice, v.id LIMIT :limit", nativeQuery = true)
+    List<EventSummaryView> findSummariesByPrice(@Param("category") String category,
+                                                @Param("afterPrice") BigDecimal afterPrice,
+                                                @Param("afterId") Long afterId,
+                                                @Param("limit") int limit);
+
+    // Recomputes the group_representative flag of one event and of every member of one
+    // group; either may be null. Runs after each write that adds, moves or removes an event.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE events e SET group_representative = (e.group_id IS NULL OR e.id = "
+            + "(SELECT MIN(e2.id) FROM events e2 WHERE e2.group_id = e.group_id)) "
+            + "WHERE e.id = CAST(:eventId AS BIGINT) OR e.group_id = CAST(:groupId AS VARCHAR)", nativeQuery = true)
+    int refreshGroupRepresentatives(@Param("eventId") Long eventId, @Param("groupId") String groupId);
+
+    interface EventSummaryView {
+        Long getId();
+
+        String getTitle();
+
+        String getCategory();
+
+        LocalDate getStartDate();
+
+        LocalDate getEndDate();
+
+        String getImageUrl();
+
+        BigDecimal getMinPrice();
+    }
+}
@@ -4,6 +4,9 @@ import com.siddhant.event_mate.entity.EventSection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface EventSectionRepository extends JpaRepository<EventSection, Long> {
-}
\ No newline at end of file
+    List<EventSection> findByEventIdOrderByIdAsc(Long eventId);
+}
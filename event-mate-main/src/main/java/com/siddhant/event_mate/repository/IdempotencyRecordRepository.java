@@ -0,0 +1,35 @@
+package com.siddhant.event_mate.repository;
+
+import com.siddhant.event_mate.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Claims the key (or takes over an expired one) in the caller's transaction. A concurrent
+    // request with the same key waits here until the first one commits (0 rows) or rolls back (1 row).
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, created_at, expires_at) "
+            + "VALUES (:id, :requestHash, :createdAt, :expiresAt) "
+            + "ON CONFLICT (id) DO UPDATE SET request_hash = EXCLUDED.request_hash, response_status = NULL, "
+            + "response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at "
+            + "WHERE idempotency_keys.expires_at < EXCLUDED.created_at", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("requestHash") String requestHash,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseBody = :body WHERE r.id = :id")
+    int complete(@Param("id") String id, @Param("status") int status, @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,6 +1,9 @@
 package com.siddhant.event_mate.repository;
 import com.siddhant.event_mate.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +14,79 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     java.util.List<Ticket> findByBooking_Event_IdAndBooking_ShowDate(Long eventId, java.time.LocalDateTime showDate);
 
     java.util.List<Ticket> findByBooking_Event_Id(Long eventId);
+
+    // Seat coordinates only, used to hydrate the in-memory seat inventory of a show
+    @Query("SELECT t.section.id AS sectionId, t.rowNumber AS rowNumber, t.colNumber AS colNumber FROM Ticket t "
+            + "WHERE t.booking.event.id = :eventId AND t.booking.showDate = :showDate AND t.status <> :excluded")
+    java.util.List<SeatCoordinates> findSeatCoordinates(@Param("eventId") Long eventId,
+                                                        @Param("showDate") java.time.LocalDateTime showDate,
+                                                        @Param("excluded") Ticket.TicketStatus excluded);
+
+    default java.util.List<SeatCoordinates> findTakenSeats(Long eventId, java.time.LocalDateTime showDate) {
+        return findSeatCoordinates(eventId, showDate, Ticket.TicketStatus.CANCELLED);
+    }
+
+    // Superset of the requested seats in one query; callers match exact (section, row, col) tuples
+    @Query("SELECT t.section.id AS sectionId, t.rowNumber AS rowNumber, t.colNumber AS colNumber FROM Ticket t "
+            + "WHERE t.booking.event.id = :eventId AND t.booking.showDate = :showDate AND t.status <> :excluded "
+            + "AND t.section.id IN :sectionIds AND t.rowNumber IN :rows AND t.colNumber IN :cols")
+    java.util.List<SeatCoordinates> findSeatCoordinatesIn(@Param("eventId") Long eventId,
+                                                          @Param("showDate") java.time.LocalDateTime showDate,
+                                                          @Param("excluded") Ticket.TicketStatus excluded,
+                                                          @Param("sectionIds") java.util.Collection<Long> sectionIds,
+                                                          @Param("rows") java.util.Collection<Integer> rows,
+                                                          @Param("cols") java.util.Collection<Integer> cols);
+
+    @Query("SELECT t.booking.event.id AS eventId, t.booking.showDate AS showDate, t.section.id AS sectionId, "
+            + "t.rowNumber AS rowNumber, t.colNumber AS colNumber FROM Ticket t "
+            + "WHERE t.booking.id IN :bookingIds AND t.status = :status")
+    java.util.List<BookedSeat> findSeatsByBookingIds(@Param("bookingIds") java.util.Collection<Long> bookingIds,
+                                                     @Param("status") Ticket.TicketStatus status);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :to WHERE t.booking.id IN :bookingIds AND t.status = :from")
+    int updateStatusByBookingIds(@Param("bookingIds") java.util.Collection<Long> bookingIds,
+                                 @Param("from") Ticket.TicketStatus from,
+                                 @Param("to") Ticket.TicketStatus to);
+
+    @Query("SELECT t.section.id AS sectionId, t.rowNumber AS rowNumber, t.colNumber AS colNumber FROM Ticket t "
+            + "WHERE t.booking.event.id = :eventId AND t.booking.showDate = :showDate AND t.status = :status")
+    java.util.List<SeatCoordinates> findSeatCoordinatesByStatus(@Param("eventId") Long eventId,
+                                                                @Param("showDate") java.time.LocalDateTime showDate,
+                                                                @Param("status") Ticket.TicketStatus status);
+
+    // Every admissible ticket of a show, for the offline gate manifest
+    @Query("SELECT t.id AS id, t.section.id AS sectionId, t.rowNumber AS rowNumber, t.colNumber AS colNumber, "
+            + "t.status AS status FROM Ticket t WHERE t.booking.event.id = :eventId AND t.booking.showDate = :showDate "
+            + "AND t.booking.paymentStatus = :paymentStatus AND t.status IN :statuses ORDER BY t.id")
+    java.util.List<ManifestTicket> findManifest(@Param("eventId") Long eventId,
+                                                @Param("showDate") java.time.LocalDateTime showDate,
+                                                @Param("paymentStatus") com.siddhant.event_mate.entity.PaymentStatus paymentStatus,
+                                                @Param("statuses") java.util.Collection<Ticket.TicketStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :to WHERE t.id IN :ids AND t.status = :from")
+    int updateStatusByIds(@Param("ids") java.util.Collection<Long> ids,
+                          @Param("from") Ticket.TicketStatus from,
+                          @Param("to") Ticket.TicketStatus to);
+
+    interface ManifestTicket extends SeatCoordinates {
+        Long getId();
+
+        Ticket.TicketStatus getStatus();
+    }
+
+    interface BookedSeat extends SeatCoordinates {
+        Long getEventId();
+
+        java.time.LocalDateTime getShowDate();
+    }
+
+    interface SeatCoordinates {
+        Long getSectionId();
+
+        int getRowNumber();
+
+        int getColNumber();
+    }
 }
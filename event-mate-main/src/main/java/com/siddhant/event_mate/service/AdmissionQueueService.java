@@ -0,0 +1,256 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.BookingDto;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual waiting room in front of the booking flow. Each event admits users at a
+ * configurable rate (a token bucket per event). While nobody is waiting, booking
+ * requests pass straight through; once the rate is exceeded they are rejected with
+ * a fast 429 and clients join the queue instead. A queue token holds a FIFO position
+ * and, once admitted, lets its owner book for a limited window. Everything happens
+ * in memory before a database connection is taken. Off unless booking.queue.enabled
+ * is set, since clients have to handle the 429 and poll the queue.
+ */
+@Service
+public class AdmissionQueueService {
+
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    private final boolean enabled;
+    private final double defaultRate;
+    private final long maxWaiting;
+    private final Duration admissionWindow;
+    private final Duration abandonAfter;
+    private final ConcurrentMap<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Double> rateOverrides = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueueTicket> tickets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter admittedWalkIns;
+
+    public AdmissionQueueService(MeterRegistry meterRegistry,
+                                 @Value("${booking.queue.enabled:false}") boolean enabled,
+                                 @Value("${booking.queue.admit-per-second:20}") double defaultRate,
+                                 @Value("${booking.queue.max-waiting:50000}") long maxWaiting,
+                                 @Value("${booking.queue.admission-minutes:10}") long admissionMinutes,
+                                 @Value("${booking.queue.abandon-after-seconds:60}") long abandonAfterSeconds) {
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.maxWaiting = maxWaiting;
+        this.admissionWindow = Duration.ofMinutes(admissionMinutes);
+        this.abandonAfter = Duration.ofSeconds(abandonAfterSeconds);
+        this.rejected = Counter.builder("booking.queue.rejected")
+                .description("Booking requests shed because the event was over its admission rate")
+                .register(meterRegistry);
+        this.admittedWalkIns = Counter.builder("booking.queue.walk-ins")
+                .description("Booking requests admitted without waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("booking.queue.waiting", this, AdmissionQueueService::totalWaiting)
+                .description("Users waiting in all event queues")
+                .register(meterRegistry);
+    }
+
+    // One token bucket per event; positions below admittedThrough are admitted
+    private static final class EventQueue {
+        private double rate;
+        private double permits;
+        private long lastRefill = System.nanoTime();
+        private long nextPosition;
+        private long admittedThrough;
+
+        EventQueue(double rate) {
+            this.rate = rate;
+            this.permits = Math.max(rate, 1);
+        }
+
+        // Waiting users are admitted before walk-ins get any permit
+        private void refill() {
+            long now = System.nanoTime();
+            permits = Math.min(Math.max(rate, 1), permits + (now - lastRefill) / 1e9 * rate);
+            lastRefill = now;
+            long admit = Math.min(nextPosition - admittedThrough, (long) permits);
+            admittedThrough += admit;
+            permits -= admit;
+        }
+
+        synchronized boolean tryWalkIn() {
+            refill();
+            if (nextPosition == admittedThrough && permits >= 1) {
+                permits -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized long enqueue(long maxWaiting) {
+            refill();
+            return nextPosition - admittedThrough >= maxWaiting ? -1 : nextPosition++;
+        }
+
+        // 1-based place in line, 0 once admitted
+        synchronized long placeInLine(long position) {
+            refill();
+            return Math.max(position - admittedThrough + 1, 0);
+        }
+
+        synchronized long waiting() {
+            return nextPosition - admittedThrough;
+        }
+
+        synchronized double rate() {
+            return rate;
+        }
+
+        synchronized void setRate(double rate) {
+            refill();
+            this.rate = rate;
+        }
+    }
+
+    private static final class QueueTicket {
+        final String id;
+        final String owner;
+        final Long eventId;
+        final long position;
+        volatile Instant lastSeen = Instant.now();
+        volatile Instant admittedUntil;
+
+        QueueTicket(String owner, Long eventId, long position) {
+            this.id = UUID.randomUUID().toString();
+            this.owner = owner;
+            this.eventId = eventId;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Gate for booking requests. Passes admitted queue tokens for the event and lets
+     * walk-ins through while the event is under its rate; everything else gets a 429.
+     */
+    public void admit(Long eventId, String token) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        if (token != null && !token.isBlank()) {
+            QueueTicket ticket = ownTicket(token);
+            if (!ticket.eventId.equals(eventId)) {
+                throw new BadRequestException("Queue token is for a different event.");
+            }
+            if (refresh(ticket).admittedUntil == null) {
+                rejected.increment();
+                throw new TooManyRequestsException("You are still in the waiting room for this event.");
+            }
+            return;
+        }
+        if (!queueFor(eventId).tryWalkIn()) {
+            rejected.increment();
+            throw new TooManyRequestsException("This event is in high demand, please join the waiting room.");
+        }
+        admittedWalkIns.increment();
+    }
+
+    public BookingDto.QueueStatus join(Long eventId) {
+        if (eventId == null) {
+            throw new BadRequestException("Event ID is required.");
+        }
+        EventQueue queue = queueFor(eventId);
+        long position = queue.enqueue(maxWaiting);
+        if (position < 0) {
+            rejected.increment();
+            throw new TooManyRequestsException("The waiting room for this event is full, please try again later.");
+        }
+        QueueTicket ticket = new QueueTicket(currentUser(), eventId, position);
+        tickets.put(ticket.id, ticket);
+        return toStatus(refresh(ticket));
+    }
+
+    public BookingDto.QueueStatus getStatus(String token) {
+        return toStatus(refresh(ownTicket(token)));
+    }
+
+    public void setAdmitRate(Long eventId, double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new BadRequestException("Admission rate must be positive.");
+        }
+        rateOverrides.put(eventId, ratePerSecond);
+        queueFor(eventId).setRate(ratePerSecond);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.queue.sweep-interval-ms:10000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        tickets.values().removeIf(ticket -> ticket.admittedUntil != null
+                ? now.isAfter(ticket.admittedUntil)
+                : now.isAfter(ticket.lastSeen.plus(abandonAfter)));
+
+        // Drop idle queues so memory follows live demand
+        Set<Long> active = tickets.values().stream().map(ticket -> ticket.eventId).collect(Collectors.toSet());
+        queues.entrySet().removeIf(entry -> !active.contains(entry.getKey()) && entry.getValue().waiting() == 0);
+    }
+
+    private QueueTicket refresh(QueueTicket ticket) {
+        Instant now = Instant.now();
+        ticket.lastSeen = now;
+        if (ticket.admittedUntil == null && queueFor(ticket.eventId).placeInLine(ticket.position) == 0) {
+            ticket.admittedUntil = now.plus(admissionWindow);
+        }
+        if (ticket.admittedUntil != null && now.isAfter(ticket.admittedUntil)) {
+            tickets.remove(ticket.id, ticket);
+            throw new BadRequestException("Queue token has expired, please join the waiting room again.");
+        }
+        return ticket;
+    }
+
+    private BookingDto.QueueStatus toStatus(QueueTicket ticket) {
+        EventQueue queue = queueFor(ticket.eventId);
+        long place = ticket.admittedUntil != null ? 0 : queue.placeInLine(ticket.position);
+        return BookingDto.QueueStatus.builder()
+                .token(ticket.id)
+                .eventId(ticket.eventId)
+                .admitted(ticket.admittedUntil != null)
+                .position(place)
+                .estimatedWaitSeconds((long) Math.ceil(place / Math.max(queue.rate(), 0.001)))
+                .admittedUntil(ticket.admittedUntil != null
+                        ? LocalDateTime.ofInstant(ticket.admittedUntil, ZoneId.systemDefault())
+                        : null)
+                .build();
+    }
+
+    private QueueTicket ownTicket(String token) {
+        QueueTicket ticket = tickets.get(token);
+        if (ticket == null || !ticket.owner.equals(currentUser())) {
+            throw new BadRequestException("Queue token not found or expired.");
+        }
+        return ticket;
+    }
+
+    private EventQueue queueFor(Long eventId) {
+        return queues.computeIfAbsent(eventId, id -> new EventQueue(rateOverrides.getOrDefault(id, defaultRate)));
+    }
+
+    private String currentUser() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private double totalWaiting() {
+        return queues.values().stream().mapToLong(EventQueue::waiting).sum();
+    }
+}
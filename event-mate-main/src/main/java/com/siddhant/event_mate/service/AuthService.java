@@ -10,6 +10,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,8 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
 
+    // The email is queued in the outbox with the user change
+    @Transactional
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
         var role = Role.CUSTOMER;
         if (request.getRole() != null && !request.getRole().isEmpty()) {
@@ -43,11 +46,8 @@ public class AuthService {
         userRepository.save(java.util.Objects.requireNonNull(user));
 
         // Send Welcome Email
-        emailService.sendEmail(
-                user.getEmail(),
-                "Welcome to Event Mate!",
-                "Hi " + user.getName()
-                        + ",\n\nWelcome to Event Mate! We are excited to have you on board.\n\nBest,\nThe Event Mate Team");
+        emailService.sendTemplate(user.getEmail(), "welcome",
+                java.util.Map.of("name", String.valueOf(user.getName())));
 
         var jwtToken = jwtService.generateToken(user);
         return AuthDto.AuthResponse.builder()
@@ -74,6 +74,7 @@ public class AuthService {
                 .build();
     }
 
+    @Transactional
     public void generateOtp(String email) {
         var user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -83,10 +84,10 @@ public class AuthService {
         user.setOtpExpiry(java.time.LocalDateTime.now().plusMinutes(10));
         userRepository.save(user);
 
-        emailService.sendEmail(email, "Your Login OTP",
-                "Your OTP for Event Mate login is: " + otp + "\nIt expires in 10 minutes.");
+        emailService.sendTemplate(email, "login-otp", java.util.Map.of("otp", otp, "validMinutes", 10));
     }
 
+    @Transactional
     public void generatePasswordResetOtp(String email) {
         var user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -96,8 +97,7 @@ public class AuthService {
         user.setOtpExpiry(java.time.LocalDateTime.now().plusMinutes(10));
         userRepository.save(user);
 
-        emailService.sendEmail(email, "Password Reset OTP",
-                "Your OTP for reseting your Event Mate password is: " + otp + "\nIt expires in 10 minutes.");
+        emailService.sendTemplate(email, "password-reset-otp", java.util.Map.of("otp", otp, "validMinutes", 10));
     }
 
     public AuthDto.AuthResponse loginWithOtp(AuthDto.OtpLoginRequest request) {
@@ -126,6 +126,7 @@ public class AuthService {
                 .build();
     }
 
+    @Transactional
     public void resetPassword(AuthDto.ResetPasswordRequest request) {
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -145,7 +146,6 @@ public class AuthService {
         user.setOtpExpiry(null);
         userRepository.save(user);
 
-        emailService.sendEmail(user.getEmail(), "Password Changed",
-                "Your password has been successfully changed.");
+        emailService.sendTemplate(user.getEmail(), "password-changed", java.util.Map.of());
     }
 }
\ No newline at end of file
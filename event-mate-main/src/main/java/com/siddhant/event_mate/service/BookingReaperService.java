@@ -0,0 +1,135 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.entity.PaymentStatus;
+import com.siddhant.event_mate.entity.Ticket;
+import com.siddhant.event_mate.repository.BookingRepository;
+import com.siddhant.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cancels bookings that stayed PENDING longer than the payment window and gives
+ * their seats back to the show. Stale bookings are walked in (bookingDate, id)
+ * order one batch per transaction, so a run never holds many row locks and never
+ * scans the whole table. Reaped bookings are marked FAILED and their tickets
+ * CANCELLED; seats are released from the seat inventory after each batch commits.
+ */
+@Service
+@Slf4j
+public class BookingReaperService {
+
+    // Lower bound of the keyset cursor, older than any booking
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter reapedBookings;
+    private final Counter releasedSeats;
+    private final Timer runTimer;
+
+    public BookingReaperService(BookingRepository bookingRepository,
+                                TicketRepository ticketRepository,
+                                SeatInventoryService seatInventoryService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.reaper.pending-ttl-minutes:30}") long pendingTtlMinutes,
+                                @Value("${booking.reaper.batch-size:200}") int batchSize,
+                                @Value("${booking.reaper.max-batches-per-run:50}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.ticketRepository = ticketRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pendingTtl = Duration.ofMinutes(pendingTtlMinutes);
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxBatches = Math.max(maxBatches, 1);
+        this.reapedBookings = Counter.builder("booking.reaper.bookings")
+                .description("PENDING bookings cancelled after the payment window expired")
+                .register(meterRegistry);
+        this.releasedSeats = Counter.builder("booking.reaper.seats")
+                .description("Seats released from reaped bookings")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("booking.reaper.run")
+                .description("Duration of one pending booking reaper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reaper.interval-ms:60000}",
+            initialDelayString = "${booking.reaper.initial-delay-ms:60000}")
+    public void reapStalePendingBookings() {
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minus(pendingTtl);
+            Cursor cursor = new Cursor(CURSOR_START, 0L);
+            int total = 0;
+            for (int batch = 0; batch < maxBatches && cursor != null; batch++) {
+                BatchResult result = reapBatch(cutoff, cursor);
+                total += result.reaped();
+                cursor = result.next();
+            }
+            if (total > 0) {
+                log.info("Cancelled {} unpaid bookings older than {}", total, cutoff);
+            }
+        });
+    }
+
+    private BatchResult reapBatch(LocalDateTime cutoff, Cursor cursor) {
+        BatchResult result = transactionTemplate.execute(status -> {
+            List<BookingRepository.BookingKey> keys = bookingRepository.lockStalePending(
+                    cutoff, cursor.bookingDate(), cursor.id(), batchSize);
+            if (keys.isEmpty()) {
+                return new BatchResult(0, List.of(), null);
+            }
+
+            List<Long> ids = keys.stream().map(BookingRepository.BookingKey::getId).collect(Collectors.toList());
+            List<TicketRepository.BookedSeat> seats = ticketRepository.findSeatsByBookingIds(
+                    ids, Ticket.TicketStatus.BOOKED);
+            int reaped = bookingRepository.updatePaymentStatus(ids, PaymentStatus.PENDING, PaymentStatus.FAILED);
+            ticketRepository.updateStatusByBookingIds(ids, Ticket.TicketStatus.BOOKED, Ticket.TicketStatus.CANCELLED);
+
+            BookingRepository.BookingKey last = keys.get(keys.size() - 1);
+            Cursor next = keys.size() < batchSize ? null : new Cursor(last.getBookingDate(), last.getId());
+            return new BatchResult(reaped, seats, next);
+        });
+
+        // Committed: the tickets no longer hold their seats
+        Map<SeatInventoryService.ShowKey, List<SeatInventoryService.Seat>> byShow = result.seats().stream()
+                .collect(Collectors.groupingBy(
+                        seat -> new SeatInventoryService.ShowKey(seat.getEventId(), seat.getShowDate()),
+                        Collectors.mapping(seat -> new SeatInventoryService.Seat(
+                                seat.getSectionId(), seat.getRowNumber(), seat.getColNumber()),
+                                Collectors.toList())));
+        byShow.forEach((key, seats) -> {
+            if (key.showDate() != null) {
+                seatInventoryService.release(key.eventId(), key.showDate(), seats);
+            }
+        });
+
+        reapedBookings.increment(result.reaped());
+        releasedSeats.increment(result.seats().size());
+        return result;
+    }
+
+    private record Cursor(LocalDateTime bookingDate, Long id) {
+    }
+
+    private record BatchResult(int reaped, Collection<TicketRepository.BookedSeat> seats, Cursor next) {
+    }
+}
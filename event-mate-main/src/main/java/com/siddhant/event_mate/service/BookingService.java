@@ -1,5 +1,8 @@
 package com.siddhant.event_mate.service;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.siddhant.event_mate.dto.BookingDto;
+import com.siddhant.event_mate.dto.SeatAvailabilityDto;
 import com.siddhant.event_mate.repository.*;
 import com.siddhant.event_mate.entity.*;
 import com.siddhant.event_mate.exception.BadRequestException;
@@ -7,14 +10,25 @@ import com.siddhant.event_mate.exception.ResourceNotFoundException;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +41,18 @@ public class BookingService {
     private final EventSectionRepository eventSectionRepository;
     private final TicketRepository ticketRepository;
     private final EmailService emailService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final ShowAllocationSequencer showAllocationSequencer;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int UNPAGED = Integer.MAX_VALUE;
+    private static final String SEAT_LABEL_SEPARATOR = "\u001f";
+
+    @Value("${booking.best-available.max-seats:10}")
+    private int maxBestAvailableSeats;
 
     @Transactional
     public BookingDto.BookingResponse createBooking(BookingDto.BookingRequest request) {
@@ -35,57 +61,72 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "User not found with email: " + email));
 
-        Event event = eventRepository.findById(java.util.Objects.requireNonNull(request.getEventId()))
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Event not found with id: " + request.getEventId()));
+        Event event = findShowEvent(request.getEventId(), request.getShowDate());
+        LocalDateTime showDate = request.getShowDate();
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        List<Ticket> tickets = new ArrayList<>();
+        Map<Long, EventSection> sectionsById;
+        List<SeatInventoryService.Seat> seats;
 
-        if (request.getShowDate() == null) {
-            throw new BadRequestException("Show date is required.");
-        }
-
-        // Validate Show Date
-        java.time.LocalDate showLocalDate = request.getShowDate().toLocalDate();
-        java.time.LocalTime showLocalTime = request.getShowDate().toLocalTime();
+        if (request.getBestAvailable() != null) {
+            // The server picks the seats: best contiguous block in the requested section
+            BookingDto.SeatPreference preference = request.getBestAvailable();
+            if (preference.getQuantity() < 1 || preference.getQuantity() > maxBestAvailableSeats) {
+                throw new BadRequestException("Quantity must be between 1 and " + maxBestAvailableSeats + ".");
+            }
+            sectionsById = findSections(Set.of(java.util.Objects.requireNonNull(preference.getSectionId())));
+            EventSection section = sectionsById.get(preference.getSectionId());
+            rejectIfNotEnoughSeats(event.getId(), showDate,
+                    Map.of(section.getId(), (long) preference.getQuantity()), sectionsById);
+
+            showAllocationSequencer.checkHeld(event.getId(), showDate);
+            seats = seatInventoryService.claimBestAvailable(event.getId(), showDate, section.getId(),
+                    preference.getQuantity(), preference.getPreferredRow());
+            if (seats.isEmpty()) {
+                throw new BadRequestException("No " + preference.getQuantity() + " adjacent seats available in "
+                        + section.getName() + " for this show.");
+            }
+        } else {
+            seats = toSeats(request.getTickets());
+            sectionsById = findSections(seats.stream()
+                    .map(SeatInventoryService.Seat::sectionId)
+                    .collect(Collectors.toSet()));
+            if (request.getHoldId() == null) {
+                rejectIfNotEnoughSeats(event.getId(), showDate, seats.stream()
+                        .collect(Collectors.groupingBy(SeatInventoryService.Seat::sectionId, Collectors.counting())),
+                        sectionsById);
+            }
 
-        if (showLocalDate.isBefore(event.getStartDate()) || showLocalDate.isAfter(event.getEndDate())) {
-            System.err.println("Booking Check Fail: Date " + showLocalDate + " not in "
-                    + event.getStartDate() + " - " + event.getEndDate());
-            throw new BadRequestException("Show date is not within the event range.");
-        }
+            // Bookings for the same show are allocated one at a time; callers queue for the
+            // show's lock before this transaction opens
+            showAllocationSequencer.checkHeld(event.getId(), showDate);
 
-        if (event.getShowTimes() == null
-                || event.getShowTimes().stream().noneMatch(t -> t.equals(showLocalTime))) {
-            System.err.println("Booking Check Fail: Time " + showLocalTime + " not found in "
-                    + event.getShowTimes());
-            throw new BadRequestException("Invalid show time selected.");
+            // Seats come either from the user's hold or are claimed in the show's in-memory
+            // inventory now; both are released again if this transaction rolls back
+            if (request.getHoldId() != null) {
+                seatHoldService.redeem(request.getHoldId(), email, event.getId(), showDate, seats);
+            } else {
+                rejectConflicts(seatInventoryService.claim(event.getId(), showDate, seats), sectionsById);
+            }
         }
+        // Seats other instances have already sold get a readable error here; a sale racing
+        // this check is rejected by the unique seat index when the tickets are flushed
+        rejectConflicts(seatInventoryService.findPersistedConflicts(event.getId(), showDate, seats), sectionsById);
 
-        for (BookingDto.TicketRequest ticketReq : request.getTickets()) {
-            EventSection section = eventSectionRepository
-                    .findById(java.util.Objects.requireNonNull(ticketReq.getSectionId()))
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Section not found with id: " + ticketReq.getSectionId()));
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<Ticket> tickets = new ArrayList<>();
 
-            if (ticketRepository
-                    .existsByBooking_Event_IdAndBooking_ShowDateAndSection_IdAndRowNumberAndColNumber(
-                            event.getId(), request.getShowDate(), section.getId(),
-                            ticketReq.getRow(), ticketReq.getCol())) {
-                throw new BadRequestException(
-                        "Seat already booked for this date: " + section.getName() + " Row "
-                                + ticketReq.getRow() + " Col " + ticketReq.getCol());
-            }
+        for (SeatInventoryService.Seat seat : seats) {
+            EventSection section = sectionsById.get(seat.sectionId());
 
             totalAmount = totalAmount.add(section.getPrice());
 
             tickets.add(Ticket.builder()
-                    .seatNo(section.getName() + "-" + ticketReq.getRow() + "-" + ticketReq.getCol())
-                    .rowNumber(ticketReq.getRow())
-                    .colNumber(ticketReq.getCol())
+                    .seatNo(section.getName() + "-" + seat.row() + "-" + seat.col())
+                    .rowNumber(seat.row())
+                    .colNumber(seat.col())
                     .section(section)
                     .price(section.getPrice())
+                    .showDate(showDate)
                     .status(Ticket.TicketStatus.BOOKED)
                     .build());
         }
@@ -105,15 +146,138 @@ public class BookingService {
 
         booking.setTickets(tickets);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance sold one of the seats first: this node's inventory is stale
+            seatInventoryService.evictShow(event.getId(), showDate);
+            throw e;
+        }
 
         return mapToResponse(savedBooking, totalAmount);
     }
 
+    @Transactional
+    public BookingDto.HoldResponse holdSeats(BookingDto.HoldRequest request) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Event event = findShowEvent(request.getEventId(), request.getShowDate());
+
+        List<SeatInventoryService.Seat> seats = toSeats(request.getTickets());
+        Map<Long, EventSection> sectionsById = findSections(seats.stream()
+                .map(SeatInventoryService.Seat::sectionId)
+                .collect(Collectors.toSet()));
+
+        rejectIfNotEnoughSeats(event.getId(), request.getShowDate(), seats.stream()
+                .collect(Collectors.groupingBy(SeatInventoryService.Seat::sectionId, Collectors.counting())),
+                sectionsById);
+        showAllocationSequencer.checkHeld(event.getId(), request.getShowDate());
+        rejectConflicts(seatInventoryService.claim(event.getId(), request.getShowDate(), seats), sectionsById);
+        SeatHoldService.SeatHold hold = seatHoldService.register(email, event.getId(), request.getShowDate(), seats);
+
+        return BookingDto.HoldResponse.builder()
+                .holdId(hold.id())
+                .eventId(hold.eventId())
+                .showDate(hold.showDate())
+                .seats(request.getTickets().stream()
+                        .map(t -> sectionsById.get(t.getSectionId()).getName() + "-" + t.getRow() + "-" + t.getCol())
+                        .collect(Collectors.toList()))
+                .expiresAt(LocalDateTime.ofInstant(hold.expiresAt(), java.time.ZoneId.systemDefault()))
+                .build();
+    }
+
+    public boolean isOwnActiveHold(String holdId, Long eventId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return holdId != null && eventId != null && seatHoldService.isActive(holdId, email, eventId);
+    }
+
+    public void releaseHold(String holdId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        seatHoldService.cancel(holdId, email);
+    }
+
+    private Event findShowEvent(Long eventId, LocalDateTime showDate) {
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Event not found with id: " + eventId));
+
+        if (showDate == null) {
+            throw new BadRequestException("Show date is required.");
+        }
+
+        // Validate Show Date
+        java.time.LocalDate showLocalDate = showDate.toLocalDate();
+        java.time.LocalTime showLocalTime = showDate.toLocalTime();
+
+        if (showLocalDate.isBefore(event.getStartDate()) || showLocalDate.isAfter(event.getEndDate())) {
+            System.err.println("Booking Check Fail: Date " + showLocalDate + " not in "
+                    + event.getStartDate() + " - " + event.getEndDate());
+            throw new BadRequestException("Show date is not within the event range.");
+        }
+
+        if (event.getShowTimes() == null
+                || event.getShowTimes().stream().noneMatch(t -> t.equals(showLocalTime))) {
+            System.err.println("Booking Check Fail: Time " + showLocalTime + " not found in "
+                    + event.getShowTimes());
+            throw new BadRequestException("Invalid show time selected.");
+        }
+        return event;
+    }
+
+    // Load every referenced section in one query
+    private Map<Long, EventSection> findSections(Set<Long> ids) {
+        Set<Long> sectionIds = new java.util.HashSet<>(ids);
+        Map<Long, EventSection> sectionsById = eventSectionRepository.findAllById(sectionIds).stream()
+                .collect(Collectors.toMap(EventSection::getId, s -> s));
+        if (sectionsById.size() != sectionIds.size()) {
+            sectionIds.removeAll(sectionsById.keySet());
+            throw new ResourceNotFoundException("Section not found with id: " + sectionIds.iterator().next());
+        }
+        return sectionsById;
+    }
+
+    private List<SeatInventoryService.Seat> toSeats(List<BookingDto.TicketRequest> ticketRequests) {
+        if (ticketRequests == null || ticketRequests.isEmpty()) {
+            throw new BadRequestException("At least one ticket is required.");
+        }
+        return ticketRequests.stream()
+                .map(t -> new SeatInventoryService.Seat(java.util.Objects.requireNonNull(t.getSectionId()),
+                        t.getRow(), t.getCol()))
+                .collect(Collectors.toList());
+    }
+
+    // Cheap check on the per-section counters before claiming seats
+    private void rejectIfNotEnoughSeats(Long eventId, LocalDateTime showDate, Map<Long, Long> requested,
+                                        Map<Long, EventSection> sectionsById) {
+        SeatInventoryService.ShowSeats show = seatInventoryService.getShow(eventId, showDate);
+        requested.forEach((sectionId, count) -> {
+            // Seats freed through another instance may still count as taken here
+            if (show.grid(sectionId) != null && count > show.remaining(sectionId)
+                    && (!seatInventoryService.reconcile(eventId, showDate, List.of(sectionId))
+                    || count > show.remaining(sectionId))) {
+                throw new BadRequestException("Not enough seats left in " + sectionsById.get(sectionId).getName()
+                        + " for this show.");
+            }
+        });
+    }
+
+    private void rejectConflicts(List<SeatInventoryService.Seat> conflicts, Map<Long, EventSection> sectionsById) {
+        if (!conflicts.isEmpty()) {
+            throw new BadRequestException("Seats already booked for this date: " + conflicts.stream()
+                    .map(seat -> sectionsById.get(seat.sectionId()).getName() + " Row " + seat.row()
+                            + " Col " + seat.col())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
     @Transactional
     public void confirmBookingPayment(Long bookingId, String paymentMethod) {
-        Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
+        // Row lock so the pending booking reaper cannot cancel it mid-confirmation
+        Booking booking = bookingRepository.findByIdForUpdate(java.util.Objects.requireNonNull(bookingId))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        if (booking.getPaymentStatus() == PaymentStatus.FAILED) {
+            throw new BadRequestException("This booking has expired and its seats were released, please book again.");
+        }
 
         booking.setPaymentStatus(PaymentStatus.COMPLETED);
         bookingRepository.save(booking);
@@ -131,36 +295,63 @@ public class BookingService {
         User user = booking.getUser();
         Event event = booking.getEvent();
 
-        emailService.sendEmail(
-                user.getEmail(),
-                "Booking Confirmation - " + event.getTitle(),
-                "Hi " + user.getName() + ",\n\n" +
-                        "Your booking for " + event.getTitle()
-                        + " has been confirmed!\n\n" +
-                        "Booking ID: " + booking.getId() + "\n" +
-                        "Show Date: " + booking.getShowDate() + "\n" +
-                        "Venue: " + event.getVenue() + "\n" +
-                        "Seats: "
-                        + booking.getTickets().stream().map(Ticket::getSeatNo)
-                        .collect(Collectors.joining(", "))
-                        + "\n" +
-                        "Total Amount: $" + booking.getTotalAmount() + "\n\n" +
-                        "Enjoy the event!\n\nThe Event Mate Team");
-    }
-
-    public List<BookingDto.BookingResponse> getUserBookings() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "User not found with email: " + email));
+        emailService.sendTemplate(user.getEmail(), "booking-confirmation", Map.of(
+                "name", String.valueOf(user.getName()),
+                "eventTitle", event.getTitle(),
+                "bookingId", booking.getId(),
+                "showDate", String.valueOf(booking.getShowDate()),
+                "venue", String.valueOf(event.getVenue()),
+                "seats", booking.getTickets().stream().map(Ticket::getSeatNo).collect(Collectors.toList()),
+                "totalAmount", booking.getTotalAmount()));
+    }
+
+    public BookingDto.BookingPage getUserBookings(Long cursor, Integer limit) {
+        int size = pageSize(cursor, limit);
+        return toPage(bookingRepository.findViewsByUserId(currentUser().getId(), cursorOrStart(cursor),
+                fetchSize(size)), size);
+    }
+
+    // Callers sending neither cursor nor limit predate paging and still get the whole list
+    private static int pageSize(Long cursor, Integer limit) {
+        if (cursor == null && limit == null) {
+            return UNPAGED;
+        }
+        return Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+    }
 
-        return bookingRepository.findByUserId(user.getId()).stream()
-                .map(booking -> {
-                    BigDecimal total = booking.getEvent().getPrice()
-                            .multiply(BigDecimal.valueOf(booking.getTickets().size()));
-                    return mapToResponse(booking, total);
-                })
+    private static int fetchSize(int size) {
+        return size == UNPAGED ? UNPAGED : size + 1;
+    }
+
+    private static Long cursorOrStart(Long cursor) {
+        return cursor != null ? cursor : Long.MAX_VALUE;
+    }
+
+    // Rows are fetched with one extra to tell whether another page follows
+    private BookingDto.BookingPage toPage(List<BookingRepository.BookingView> rows, int size) {
+        List<BookingDto.BookingResponse> bookings = rows.stream()
+                .limit(size)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
+        Long nextCursor = rows.size() > size ? bookings.get(size - 1).getBookingId() : null;
+        return BookingDto.BookingPage.builder().bookings(bookings).nextCursor(nextCursor).build();
+    }
+
+    private BookingDto.BookingResponse toResponse(BookingRepository.BookingView view) {
+        return BookingDto.BookingResponse.builder()
+                .bookingId(view.getBookingId())
+                .eventId(view.getEventId())
+                .eventTitle(view.getEventTitle())
+                .bookingDate(view.getBookingDate())
+                .showDate(view.getShowDate())
+                .paymentStatus(view.getPaymentStatus())
+                .totalAmount(view.getTotalAmount())
+                .tickets(view.getSeatLabels() != null
+                        ? List.of(view.getSeatLabels().split(SEAT_LABEL_SEPARATOR))
+                        : List.of())
+                .customerName(view.getCustomerName())
+                .customerEmail(view.getCustomerEmail())
+                .build();
     }
 
     private BookingDto.BookingResponse mapToResponse(Booking booking, BigDecimal totalAmount) {
@@ -184,47 +375,135 @@ public class BookingService {
         throw new BadRequestException("Show date is required to fetch booked seats.");
     }
 
+    @Transactional
     public List<String> getBookedSeats(Long eventId, LocalDateTime showDate) {
-        return ticketRepository.findByBooking_Event_IdAndBooking_ShowDate(eventId, showDate).stream()
-                .map(ticket -> ticket.getSection().getName() + "-" + ticket.getRowNumber() + "-"
-                        + ticket.getColNumber())
-                .collect(Collectors.toList());
+        // Only scheduled shows get an inventory entry; any other date has nothing booked
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(eventId)).orElse(null);
+        if (event == null || !SeatInventoryService.isScheduledShow(event, showDate)) {
+            return new ArrayList<>();
+        }
+        return seatInventoryService.getShow(eventId, showDate).takenLabels();
     }
 
-    public List<BookingDto.BookingResponse> getOrganizerBookings() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "User not found with email: " + email));
+    @Transactional
+    public SeatAvailabilityDto getSeatAvailability(Long eventId, LocalDateTime showDate) {
+        findShowEvent(eventId, showDate);
+        return seatInventoryService.getShow(eventId, showDate).snapshot(eventId, showDate);
+    }
 
-        return bookingRepository.findByEventOrganizer(user).stream()
-                .map(booking -> {
-                    BigDecimal total = booking.getEvent().getPrice()
-                            .multiply(BigDecimal.valueOf(booking.getTickets().size()));
-                    return mapToResponse(booking, total);
-                })
-                .collect(Collectors.toList());
+    @Transactional
+    public long getSeatVersion(Long eventId, LocalDateTime showDate) {
+        findShowEvent(eventId, showDate);
+        return seatInventoryService.getShow(eventId, showDate).getVersion();
     }
 
-    public List<BookingDto.BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(booking -> {
-                    BigDecimal total = booking.getEvent().getPrice()
-                            .multiply(BigDecimal.valueOf(booking.getTickets().size()));
-                    return mapToResponse(booking, total);
-                })
-                .collect(Collectors.toList());
+    public BookingDto.BookingPage getOrganizerBookings(BookingDto.BookingFilter filter, Long cursor, Integer limit) {
+        int size = pageSize(cursor, limit);
+        return toPage(findViews(currentUser().getId(), filter, cursor, fetchSize(size)), size);
+    }
+
+    public BookingDto.BookingPage getAllBookings(BookingDto.BookingFilter filter, Long cursor, Integer limit) {
+        int size = pageSize(cursor, limit);
+        return toPage(findViews(null, filter, cursor, fetchSize(size)), size);
+    }
+
+    private List<BookingRepository.BookingView> findViews(Long organizerId, BookingDto.BookingFilter filter,
+                                                          Long cursor, int limit) {
+        return bookingRepository.findViews(organizerId, filter.getEventId(), filter.getShowDate(),
+                statusFilter(filter), cursorOrStart(cursor), limit);
+    }
+
+    /**
+     * Writes every booking matching the filter as CSV or a JSON array, newest first.
+     * Rows come from a server-side cursor and go straight to the output, so exports
+     * of any size run in constant memory.
+     */
+    @Transactional
+    public void exportBookings(BookingDto.BookingFilter filter, boolean organizerOnly, String format,
+                               OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"json".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Export format must be csv or json.");
+        }
+        Long organizerId = organizerOnly ? currentUser().getId() : null;
+
+        try (Stream<BookingRepository.BookingView> rows = bookingRepository.streamViews(organizerId,
+                filter.getEventId(), filter.getShowDate(), statusFilter(filter))) {
+            if (csv) {
+                writeCsv(rows, out);
+            } else {
+                writeJson(rows, out);
+            }
+        }
+    }
+
+    private void writeCsv(Stream<BookingRepository.BookingView> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("bookingId,eventId,eventTitle,bookingDate,showDate,paymentStatus,totalAmount,"
+                + "customerName,customerEmail,seats\n");
+        for (BookingDto.BookingResponse booking : (Iterable<BookingDto.BookingResponse>) rows.map(this::toResponse)::iterator) {
+            writer.write(String.join(",",
+                    String.valueOf(booking.getBookingId()),
+                    String.valueOf(booking.getEventId()),
+                    csvField(booking.getEventTitle()),
+                    csvField(booking.getBookingDate()),
+                    csvField(booking.getShowDate()),
+                    csvField(booking.getPaymentStatus()),
+                    csvField(booking.getTotalAmount()),
+                    csvField(booking.getCustomerName()),
+                    csvField(booking.getCustomerEmail()),
+                    csvField(String.join(" ", booking.getTickets()))));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private void writeJson(Stream<BookingRepository.BookingView> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (BookingDto.BookingResponse booking : (Iterable<BookingDto.BookingResponse>) rows.map(this::toResponse)::iterator) {
+                objectMapper.writeValue(generator, booking);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static String statusFilter(BookingDto.BookingFilter filter) {
+        if (filter.getStatus() == null || filter.getStatus().isBlank()) {
+            return null;
+        }
+        try {
+            return PaymentStatus.valueOf(filter.getStatus().trim().toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown booking status: " + filter.getStatus());
+        }
+    }
+
+    private User currentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User not found with email: " + email));
     }
 
     public BookingDto.BookingResponse getBookingById(Long bookingId) {
-        Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
+        BookingRepository.BookingView booking = bookingRepository.findViewById(java.util.Objects.requireNonNull(bookingId))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
 
         // Optional: Check if current user owns this booking or is admin/organizer
         // For now allowing access for flow simplicity, but ideally should secure this.
 
-        BigDecimal total = booking.getEvent().getPrice()
-                .multiply(BigDecimal.valueOf(booking.getTickets().size()));
-        return mapToResponse(booking, total);
+        return toResponse(booking);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,409 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.CheckInDto;
+import com.siddhant.event_mate.entity.Booking;
+import com.siddhant.event_mate.entity.Event;
+import com.siddhant.event_mate.entity.PaymentStatus;
+import com.siddhant.event_mate.entity.Role;
+import com.siddhant.event_mate.entity.Ticket;
+import com.siddhant.event_mate.entity.User;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.exception.ForbiddenException;
+import com.siddhant.event_mate.exception.ResourceNotFoundException;
+import com.siddhant.event_mate.repository.BookingRepository;
+import com.siddhant.event_mate.repository.EventRepository;
+import com.siddhant.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Entry-gate check-in. Every paid ticket has a compact HMAC-signed token (ticket,
+ * show, seat) that is verified from its signature alone. Admissions are recorded in
+ * a per-show bitmap with one bit per seat and written to tickets.status in batches,
+ * so a rush of scans at doors opening never queries the database per scan. The bitmap
+ * is per instance: all gates of one show must be routed to the same instance, or a
+ * ticket can be admitted once per instance. Such duplicates only show up when the
+ * batch is written, and are logged and counted as checkin.duplicate.
+ */
+@Service
+@Slf4j
+public class CheckInService {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final byte TOKEN_VERSION = 1;
+    // version, ticket id, event id, show date (epoch seconds), section id, row, col
+    private static final int PAYLOAD_LENGTH = 1 + 8 + 8 + 8 + 8 + 4 + 4;
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private final TicketRepository ticketRepository;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadLocal<Mac> macs;
+    private final Map<CheckInDto.ScanOutcome, Counter> scans = new EnumMap<>(CheckInDto.ScanOutcome.class);
+    private final Counter flushed;
+    private final Counter duplicates;
+
+    private final ConcurrentMap<SeatInventoryService.ShowKey, ShowCheckIns> shows = new ConcurrentHashMap<>();
+
+    // Admitted tickets not yet marked USED in the database
+    private final Queue<Long> unflushed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unflushedCount = new AtomicInteger();
+
+    @Value("${checkin.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${checkin.max-scan-batch:1000}")
+    private int maxScanBatch;
+
+    @Value("${checkin.retain-hours:12}")
+    private long retainHours;
+
+    record TicketToken(Long ticketId, SeatInventoryService.ShowKey show, Long sectionId, int row, int col) {
+    }
+
+    public CheckInService(TicketRepository ticketRepository,
+                          BookingRepository bookingRepository,
+                          EventRepository eventRepository,
+                          SeatInventoryService seatInventoryService,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${checkin.token-secret:${application.security.jwt.secret-key}}") String secret) {
+        this.ticketRepository = ticketRepository;
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Own key derived from the secret, so a ticket token can never pass as a JWT signature or vice versa
+        SecretKeySpec key = new SecretKeySpec(
+                newMac(new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC))
+                        .doFinal("ticket-check-in".getBytes(StandardCharsets.UTF_8)), HMAC);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+        for (CheckInDto.ScanOutcome outcome : CheckInDto.ScanOutcome.values()) {
+            scans.put(outcome, Counter.builder("checkin.scans")
+                    .description("Ticket scans at the entry gates")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.flushed = Counter.builder("checkin.flushed")
+                .description("Check-ins written to the tickets table")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("checkin.duplicate")
+                .description("Admitted tickets that were no longer BOOKED when written, e.g. admitted elsewhere")
+                .register(meterRegistry);
+        Gauge.builder("checkin.unflushed", unflushedCount, AtomicInteger::get)
+                .description("Check-ins waiting to be written to the tickets table")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CheckInDto.TicketPass> getTicketPasses(Long bookingId) {
+        Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        User user = currentUser();
+        if (user.getRole() != Role.ADMIN && !booking.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("This booking belongs to another user.");
+        }
+        if (booking.getPaymentStatus() != PaymentStatus.COMPLETED) {
+            throw new BadRequestException("Tickets are issued once the booking is paid.");
+        }
+        SeatInventoryService.ShowKey show = new SeatInventoryService.ShowKey(booking.getEvent().getId(),
+                booking.getShowDate());
+        return booking.getTickets().stream()
+                .filter(ticket -> ticket.getStatus() != Ticket.TicketStatus.CANCELLED)
+                .map(ticket -> CheckInDto.TicketPass.builder()
+                        .ticketId(ticket.getId())
+                        .seatNo(ticket.getSeatNo())
+                        .token(issueToken(new TicketToken(ticket.getId(), show, ticket.getSection().getId(),
+                                ticket.getRowNumber(), ticket.getColNumber())))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks in a batch of scanned tokens at the gate of one show. Each ticket is
+     * admitted at most once; later scans of it report ALREADY_CHECKED_IN.
+     */
+    public List<CheckInDto.ScanResult> scan(Long eventId, LocalDateTime showDate, List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new BadRequestException("No tickets to check in.");
+        }
+        if (tokens.size() > maxScanBatch) {
+            throw new BadRequestException("At most " + maxScanBatch + " tickets can be checked in per request.");
+        }
+        SeatInventoryService.ShowKey key = new SeatInventoryService.ShowKey(eventId, showDate);
+        ShowCheckIns show = authorizedShow(key);
+        List<CheckInDto.ScanResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(scan(key, show, token));
+        }
+        return results;
+    }
+
+    // Every admissible ticket of the show with its token, so gates can validate scans while offline
+    @Transactional(readOnly = true)
+    public CheckInDto.Manifest getManifest(Long eventId, LocalDateTime showDate) {
+        SeatInventoryService.ShowKey key = new SeatInventoryService.ShowKey(eventId, showDate);
+        ShowCheckIns show = authorizedShow(key);
+        List<CheckInDto.ManifestEntry> entries = ticketRepository.findManifest(eventId, showDate,
+                        PaymentStatus.COMPLETED, List.of(Ticket.TicketStatus.BOOKED, Ticket.TicketStatus.USED))
+                .stream()
+                .map(ticket -> {
+                    TicketToken token = new TicketToken(ticket.getId(), key, ticket.getSectionId(),
+                            ticket.getRowNumber(), ticket.getColNumber());
+                    int index = show.index(token.sectionId(), token.row(), token.col());
+                    return CheckInDto.ManifestEntry.builder()
+                            .ticketId(ticket.getId())
+                            .seat(show.label(token.sectionId(), token.row(), token.col()))
+                            .token(issueToken(token))
+                            .checkedIn(ticket.getStatus() == Ticket.TicketStatus.USED
+                                    || (index >= 0 && show.isCheckedIn(index)))
+                            .build();
+                })
+                .collect(Collectors.toList());
+        return CheckInDto.Manifest.builder()
+                .eventId(eventId)
+                .showDate(showDate)
+                .generatedAt(LocalDateTime.now())
+                .tickets(entries)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${checkin.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        List<Long> batch = new ArrayList<>(flushBatchSize);
+        while (true) {
+            batch.clear();
+            Long ticketId;
+            while (batch.size() < flushBatchSize && (ticketId = unflushed.poll()) != null) {
+                batch.add(ticketId);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            int updated;
+            try {
+                updated = transactionTemplate.execute(status -> ticketRepository.updateStatusByIds(batch,
+                        Ticket.TicketStatus.BOOKED, Ticket.TicketStatus.USED));
+            } catch (RuntimeException e) {
+                // Still admitted in memory; written on the next flush
+                unflushed.addAll(batch);
+                log.warn("Writing {} check-ins failed, retrying: {}", batch.size(), e.getMessage());
+                return;
+            }
+            unflushedCount.addAndGet(-batch.size());
+            flushed.increment(updated);
+            if (updated < batch.size()) {
+                // Already USED (admitted through another instance) or cancelled since the scan
+                duplicates.increment(batch.size() - updated);
+                log.warn("{} of {} admitted tickets were no longer BOOKED when written; were gates of one show "
+                        + "routed to several instances?", batch.size() - updated, batch.size());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkin.evict-interval-ms:3600000}")
+    public void evictFinishedShows() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retainHours);
+        shows.keySet().removeIf(key -> key.showDate().isBefore(cutoff));
+    }
+
+    String issueToken(TicketToken ticket) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + SIGNATURE_LENGTH)
+                .put(TOKEN_VERSION)
+                .putLong(ticket.ticketId())
+                .putLong(ticket.show().eventId())
+                .putLong(ticket.show().showDate().toEpochSecond(ZoneOffset.UTC))
+                .putLong(ticket.sectionId())
+                .putInt(ticket.row())
+                .putInt(ticket.col());
+        buffer.put(sign(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // Null when the token is malformed or its signature does not match
+    TicketToken decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token.strip());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH || bytes[0] != TOKEN_VERSION
+                || !MessageDigest.isEqual(sign(bytes), Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+        Long ticketId = payload.getLong();
+        SeatInventoryService.ShowKey show = new SeatInventoryService.ShowKey(payload.getLong(),
+                LocalDateTime.ofEpochSecond(payload.getLong(), 0, ZoneOffset.UTC));
+        return new TicketToken(ticketId, show, payload.getLong(), payload.getInt(), payload.getInt());
+    }
+
+    private CheckInDto.ScanResult scan(SeatInventoryService.ShowKey key, ShowCheckIns show, String token) {
+        TicketToken ticket = token != null ? decode(token) : null;
+        CheckInDto.ScanOutcome outcome;
+        if (ticket == null) {
+            outcome = CheckInDto.ScanOutcome.INVALID;
+        } else if (!ticket.show().equals(key)) {
+            outcome = CheckInDto.ScanOutcome.WRONG_SHOW;
+        } else {
+            int index = show.index(ticket.sectionId(), ticket.row(), ticket.col());
+            if (index < 0) {
+                // Genuine token for a seat the current layout no longer has
+                outcome = CheckInDto.ScanOutcome.INVALID;
+            } else if (show.checkIn(index)) {
+                outcome = CheckInDto.ScanOutcome.ADMITTED;
+                unflushed.add(ticket.ticketId());
+                unflushedCount.incrementAndGet();
+            } else {
+                outcome = CheckInDto.ScanOutcome.ALREADY_CHECKED_IN;
+            }
+        }
+        scans.get(outcome).increment();
+        return CheckInDto.ScanResult.builder()
+                .token(token)
+                .outcome(outcome)
+                .ticketId(ticket != null ? ticket.ticketId() : null)
+                .seat(ticket != null ? show.label(ticket.sectionId(), ticket.row(), ticket.col()) : null)
+                .build();
+    }
+
+    // Authorized against the event before anything is loaded, and only for shows that exist
+    private ShowCheckIns authorizedShow(SeatInventoryService.ShowKey key) {
+        User user = currentUser();
+        ShowCheckIns show = shows.get(key);
+        if (show != null) {
+            authorize(user, show.organizerId);
+            return show;
+        }
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(key.eventId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + key.eventId()));
+        Long organizerId = event.getOrganizer() != null ? event.getOrganizer().getId() : null;
+        authorize(user, organizerId);
+        if (key.showDate() == null || !SeatInventoryService.isScheduledShow(event, key.showDate())) {
+            throw new BadRequestException("The event has no show at " + key.showDate() + ".");
+        }
+        // Loaded outside the map so a slow load never blocks other shows' scans
+        ShowCheckIns loaded = hydrate(key, organizerId);
+        ShowCheckIns raced = shows.putIfAbsent(key, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private static void authorize(User user, Long organizerId) {
+        if (user.getRole() != Role.ADMIN && !user.getId().equals(organizerId)) {
+            throw new ForbiddenException("Only the organizer of this event can check tickets in.");
+        }
+    }
+
+    private ShowCheckIns hydrate(SeatInventoryService.ShowKey key, Long organizerId) {
+        ShowCheckIns show = new ShowCheckIns(organizerId,
+                seatInventoryService.getShow(key.eventId(), key.showDate()).getGrids());
+        ticketRepository.findSeatCoordinatesByStatus(key.eventId(), key.showDate(), Ticket.TicketStatus.USED)
+                .forEach(seat -> {
+                    int index = show.index(seat.getSectionId(), seat.getRowNumber(), seat.getColNumber());
+                    if (index >= 0) {
+                        show.checkIn(index);
+                    }
+                });
+        return show;
+    }
+
+    // The principal is the User loaded by the JWT filter, so no extra lookup per scan
+    private static User currentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        mac.update(payload, 0, PAYLOAD_LENGTH);
+        return Arrays.copyOf(mac.doFinal(), SIGNATURE_LENGTH);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    // One check-in bit per seat of the show, sections laid out one after another
+    static final class ShowCheckIns {
+        private final Long organizerId;
+        private final Map<Long, SectionGrid> grids;
+        private final Map<Long, Integer> offsets = new HashMap<>();
+        private final AtomicLongArray checkedIn;
+
+        ShowCheckIns(Long organizerId, Map<Long, SectionGrid> grids) {
+            this.organizerId = organizerId;
+            this.grids = grids;
+            int size = 0;
+            for (Long sectionId : grids.keySet().stream().sorted().toList()) {
+                offsets.put(sectionId, size);
+                size += grids.get(sectionId).size();
+            }
+            this.checkedIn = new AtomicLongArray((size + 63) >>> 6);
+        }
+
+        int index(Long sectionId, int row, int col) {
+            SectionGrid grid = grids.get(sectionId);
+            if (grid == null || !grid.isSeat(row, col)) {
+                return -1;
+            }
+            return offsets.get(sectionId) + grid.index(row, col);
+        }
+
+        // Sets the seat's bit; false when it was already set
+        boolean checkIn(int index) {
+            long bit = 1L << index;
+            return (checkedIn.getAndAccumulate(index >>> 6, bit, (current, mask) -> current | mask) & bit) == 0;
+        }
+
+        boolean isCheckedIn(int index) {
+            return (checkedIn.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        String label(Long sectionId, int row, int col) {
+            SectionGrid grid = grids.get(sectionId);
+            return grid != null ? grid.label(row, col) : null;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.EmailOutboxMessage;
+import com.siddhant.event_mate.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued emails from the outbox table. Each round claims a batch of due
+ * messages by pushing their next attempt past a lease, hands them to the
+ * MailDeliveryEngine outside any transaction, then records the outcome. Failed sends are retried with exponential
+ * backoff. Delivery is at-least-once: a message whose outcome was never recorded is
+ * sent again once its lease runs out. Runs on its own thread so slow SMTP servers
+ * never hold up request threads or other scheduled jobs.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private static final TypeReference<Map<String, Object>> MODEL_TYPE = new TypeReference<>() {
+    };
+
+    private final MailDeliveryEngine mailDeliveryEngine;
+    private final EmailTemplateService emailTemplateService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${email.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${email.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Value("${email.outbox.log-undelivered:false}")
+    private boolean logUndelivered;
+
+    private ScheduledExecutorService executor;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 MailDeliveryEngine mailDeliveryEngine,
+                                 EmailTemplateService emailTemplateService,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailDeliveryEngine = mailDeliveryEngine;
+        this.emailTemplateService = emailTemplateService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sent = Counter.builder("email.outbox.sent")
+                .description("Outbox emails accepted by the mail server")
+                .register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried")
+                .description("Outbox email sends that failed and were rescheduled")
+                .register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Outbox emails given up on after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("email-outbox").daemon(true).factory());
+        executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::deleteDelivered, 1, 24, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Keeps going while full batches come back, then waits for the next poll
+    void drain() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.warn("Email outbox dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    int dispatchBatch() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDue(now, batchSize);
+            for (EmailOutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> results = batch.stream()
+                .map(this::submit)
+                .collect(Collectors.toList());
+        List<Long> delivered = new ArrayList<>();
+        List<EmailOutboxMessage> undelivered = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(leaseSeconds) / 2;
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            try {
+                results.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                delivered.add(message.getId());
+            } catch (ExecutionException e) {
+                message.setLastError(truncate(e.getCause().getMessage()));
+                undelivered.add(message);
+            } catch (TimeoutException e) {
+                // May still go out; at-least-once allows the retry to duplicate it
+                message.setLastError("Timed out waiting for the mail server");
+                undelivered.add(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return batch.size();
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                emailOutboxRepository.markSent(delivered, EmailOutboxMessage.OutboxStatus.SENT, LocalDateTime.now());
+            }
+            for (EmailOutboxMessage message : undelivered) {
+                reschedule(message);
+            }
+            emailOutboxRepository.saveAll(undelivered);
+        });
+        sent.increment(delivered.size());
+        return batch.size();
+    }
+
+    private void reschedule(EmailOutboxMessage message) {
+        if (logUndelivered && message.getAttempts() == 1) {
+            // For setups without a mail server; contents are withheld as they may carry OTPs
+            log.info("Undelivered email {}: to={}, subject={}, template={}", message.getId(),
+                    message.getRecipient(), message.getSubject(), message.getTemplate());
+        }
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.OutboxStatus.FAILED);
+            failed.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}", message.getId(),
+                    message.getRecipient(), message.getAttempts(), message.getLastError());
+            return;
+        }
+        long delay = Math.min(backoffBaseSeconds << Math.min(message.getAttempts() - 1, 20), backoffMaxSeconds);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofSeconds(delay)));
+        retried.increment();
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}", message.getId(),
+                message.getRecipient(), message.getAttempts(), delay, message.getLastError());
+    }
+
+    private void deleteDelivered() {
+        try {
+            Integer deleted = transactionTemplate.execute(status -> emailOutboxRepository.deleteSentBefore(
+                    EmailOutboxMessage.OutboxStatus.SENT, LocalDateTime.now().minusDays(retentionDays)));
+            if (deleted != null && deleted > 0) {
+                log.info("Deleted {} delivered outbox emails", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Email outbox cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> submit(EmailOutboxMessage message) {
+        if (message.getTemplate() == null) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(fromEmail);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            return mailDeliveryEngine.submit(mail);
+        }
+        try {
+            Map<String, Object> model = objectMapper.readValue(message.getTemplateModel(), MODEL_TYPE);
+            EmailTemplateService.RenderedEmail email = emailTemplateService.render(message.getTemplate(),
+                    message.getLocale() != null ? Locale.forLanguageTag(message.getLocale()) : null, model);
+            MimeMessage mail = mailDeliveryEngine.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mail, email.html() != null, "UTF-8");
+            helper.setFrom(fromEmail);
+            helper.setTo(message.getRecipient());
+            helper.setSubject(email.subject());
+            if (email.html() != null) {
+                helper.setText(email.text(), email.html());
+            } else {
+                helper.setText(email.text());
+            }
+            // The rendered subject and body are kept only for inspecting failed rows
+            message.setSubject(email.subject());
+            message.setBody(email.text());
+            return mailDeliveryEngine.submit(mail);
+        } catch (IOException | MessagingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -1,43 +1,74 @@
 package com.siddhant.event_mate.service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.EmailOutboxMessage;
+import com.siddhant.event_mate.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTemplateService emailTemplateService;
+    private final ObjectMapper objectMapper;
 
-    @Async
+    /**
+     * Queues an email in the outbox as part of the caller's transaction. It is only
+     * delivered if that transaction commits, by EmailOutboxDispatcher, which retries
+     * until the mail server accepts it.
+     */
+    @Transactional
     public void sendEmail(String to, String subject, String body) {
-        try {
-            log.info("Attempting to send email to: {}", to);
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxMessage.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        emailOutboxRepository.save(message);
+        log.debug("Queued email to: {}", to);
+    }
 
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send real email. Falling back to mock logger. Error: {}", e.getMessage());
-            // Fallback to Mock logging
-            System.out.println("========================================");
-            System.out.println("FALLBACK MOCK EMAIL (Real sending failed)");
-            System.out.println("To: " + to);
-            System.out.println("Subject: " + subject);
-            System.out.println("Body: " + body);
-            System.out.println("========================================");
+    /**
+     * Queues a templated email. Only the model is stored here; rendering happens at
+     * delivery time, in the locale of the current request.
+     */
+    @Transactional
+    public void sendTemplate(String to, String template, Map<String, ?> model) {
+        if (!emailTemplateService.exists(template)) {
+            throw new IllegalArgumentException("Unknown email template: " + template);
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(model);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Email model for " + template + " is not serializable", e);
         }
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(to)
+                .template(template)
+                .templateModel(json)
+                .locale(LocaleContextHolder.getLocale().toLanguageTag())
+                .status(EmailOutboxMessage.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        emailOutboxRepository.save(message);
+        log.debug("Queued {} email to: {}", template, to);
     }
 }
@@ -0,0 +1,158 @@
+package com.siddhant.event_mate.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Email templates from classpath:templates/email, compiled once at startup.
+ * A template is {name}[_{locale}].txt, whose first line is the subject and the
+ * rest the plain-text body, plus an optional {name}[_{locale}].html body.
+ * Placeholders are {{key}}; collections render as a comma-separated list and HTML
+ * bodies escape every value. Lookups fall back from e.g. fr_CA to fr to the
+ * default template, and the result is cached per name and locale.
+ */
+@Service
+@Slf4j
+public class EmailTemplateService {
+
+    private static final String LOCATION = "classpath*:templates/email/";
+
+    public record RenderedEmail(String subject, String text, String html) {
+    }
+
+    private final Map<String, Template> compiled = new HashMap<>();
+    private final ConcurrentMap<String, Optional<Template>> resolved = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void compileAll() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<String, String> html = new HashMap<>();
+        for (Resource resource : resolver.getResources(LOCATION + "*.html")) {
+            html.put(baseName(resource), resource.getContentAsString(StandardCharsets.UTF_8));
+        }
+        for (Resource resource : resolver.getResources(LOCATION + "*.txt")) {
+            String key = baseName(resource);
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            int newline = source.indexOf('\n');
+            if (newline < 0) {
+                throw new IllegalStateException("Email template " + key + " needs a subject line and a body");
+            }
+            String htmlSource = html.remove(key);
+            compiled.put(key, new Template(
+                    CompiledText.compile(source.substring(0, newline).strip(), false),
+                    CompiledText.compile(source.substring(newline + 1).strip(), false),
+                    htmlSource != null ? CompiledText.compile(htmlSource.strip(), true) : null));
+        }
+        if (!html.isEmpty()) {
+            throw new IllegalStateException("HTML email templates without a .txt variant: " + html.keySet());
+        }
+        log.info("Compiled {} email templates", compiled.size());
+    }
+
+    public boolean exists(String name) {
+        return compiled.containsKey(name);
+    }
+
+    public RenderedEmail render(String name, Locale locale, Map<String, ?> model) {
+        Template template = resolve(name, locale != null ? locale : Locale.ROOT)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown email template: " + name));
+        return new RenderedEmail(template.subject().render(model), template.text().render(model),
+                template.html() != null ? template.html().render(model) : null);
+    }
+
+    private Optional<Template> resolve(String name, Locale locale) {
+        return resolved.computeIfAbsent(name + '|' + locale.toLanguageTag(), key -> {
+            List<String> candidates = new ArrayList<>();
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(name + '_' + locale.getLanguage() + '_' + locale.getCountry());
+            }
+            if (!locale.getLanguage().isEmpty()) {
+                candidates.add(name + '_' + locale.getLanguage());
+            }
+            candidates.add(name);
+            return candidates.stream().map(compiled::get).filter(java.util.Objects::nonNull).findFirst();
+        });
+    }
+
+    private static String baseName(Resource resource) {
+        String filename = java.util.Objects.requireNonNull(resource.getFilename());
+        return filename.substring(0, filename.lastIndexOf('.'));
+    }
+
+    private record Template(CompiledText subject, CompiledText text, CompiledText html) {
+    }
+
+    // Literal segments interleaved with placeholder keys: literals[0] key[0] literals[1] ...
+    static final class CompiledText {
+        private final String[] literals;
+        private final String[] keys;
+        private final boolean escapeHtml;
+        private final int literalLength;
+
+        private CompiledText(String[] literals, String[] keys, boolean escapeHtml) {
+            this.literals = literals;
+            this.keys = keys;
+            this.escapeHtml = escapeHtml;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        static CompiledText compile(String source, boolean escapeHtml) {
+            List<String> literals = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            int position = 0;
+            int open;
+            while ((open = source.indexOf("{{", position)) >= 0) {
+                int close = source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw new IllegalStateException("Unclosed placeholder in email template: " + source);
+                }
+                literals.add(source.substring(position, open));
+                keys.add(source.substring(open + 2, close).strip());
+                position = close + 2;
+            }
+            literals.add(source.substring(position));
+            return new CompiledText(literals.toArray(String[]::new), keys.toArray(String[]::new), escapeHtml);
+        }
+
+        String render(Map<String, ?> model) {
+            StringBuilder out = new StringBuilder(literalLength + keys.length * 16);
+            out.append(literals[0]);
+            for (int i = 0; i < keys.length; i++) {
+                String value = format(model.get(keys[i]));
+                out.append(escapeHtml ? HtmlUtils.htmlEscape(value) : value).append(literals[i + 1]);
+            }
+            return out.toString();
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof Collection<?> values) {
+                return values.stream().map(String::valueOf).collect(Collectors.joining(", "));
+            }
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of the public event catalog: pages of event summaries (all
+ * events or one category), the same lists unpaged, and the per-id detail. Entries
+ * are bounded in number and expire after a TTL; writes through EventService
+ * invalidate exactly the entries they affect, both immediately and again once the
+ * write commits, and move Last-Modified on commit only. Misses load in a read-only
+ * transaction of their own, so cache hits never borrow a connection. Expired entries
+ * are kept until reloaded: when a reload differs from them, the catalog was changed
+ * through another instance, and the version and Last-Modified move on as for a write.
+ */
+@Service
+public class EventCatalogCache {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Region<ListKey, EventSummaryDto.Page> lists;
+    private final Region<ListKey, List<EventDto>> fullLists;
+    private final Region<Long, EventDto> details;
+
+    // Bumped by every invalidation and changed reload; a load that raced one is served but not cached.
+    // Seeded from the clock, as it doubles as an ETag that must not repeat across restarts.
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final LastModified lastModified = new LastModified();
+
+    public EventCatalogCache(PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${events.cache.max-lists:256}") int maxLists,
+                             @Value("${events.cache.max-details:5000}") int maxDetails,
+                             @Value("${events.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lists = new Region<>("lists", maxLists, ttlSeconds, meterRegistry);
+        this.fullLists = new Region<>("full-lists", maxLists, ttlSeconds, meterRegistry);
+        this.details = new Region<>("details", maxDetails, ttlSeconds, meterRegistry);
+    }
+
+    // One listing page; a null category means the whole catalog
+    public record ListKey(String category, String sort, String cursor, int limit) {
+    }
+
+    public EventSummaryDto.Page getSummaries(ListKey key, Supplier<EventSummaryDto.Page> loader) {
+        return get(lists, key, loader);
+    }
+
+    // Unpaged lists are keyed by category alone
+    public List<EventDto> getFullList(String category, Supplier<List<EventDto>> loader) {
+        return get(fullLists, new ListKey(category, null, null, 0), loader);
+    }
+
+    public EventDto getEvent(Long id, Supplier<EventDto> loader) {
+        return get(details, id, loader);
+    }
+
+    // Catalog version, bumped by every invalidation and by reloads that found changed content
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Epoch millis of the last committed invalidation, or of startup
+    public long getLastModified() {
+        return lastModified.get();
+    }
+
+    /**
+     * Drops the detail of the event (when it has an id yet), the whole-catalog pages
+     * and lists, and those of the given categories, i.e. the ones the event was and
+     * is now in.
+     */
+    public void invalidate(Long eventId, Collection<String> categories) {
+        evict(eventId, categories);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastModified.touch();
+            return;
+        }
+        // A reader may have cached the pre-commit state in the meantime
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(eventId, categories);
+                lastModified.touch();
+            }
+        });
+    }
+
+    private void evict(Long eventId, Collection<String> categories) {
+        version.incrementAndGet();
+        if (eventId != null) {
+            details.remove(eventId);
+        }
+        lists.removeIf(key -> key.category() == null || categories.contains(key.category()));
+        fullLists.removeIf(key -> key.category() == null || categories.contains(key.category()));
+    }
+
+    private <K, V> V get(Region<K, V> region, K key, Supplier<V> loader) {
+        V cached = region.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = version.get();
+        V value = readOnlyTransaction.execute(status -> loader.get());
+        if (value != null && version.get() == loadedAt) {
+            V expired = region.put(key, value);
+            if (expired != null && !expired.equals(value)) {
+                // Clients holding validators for the old content must not get a 304 for it
+                version.incrementAndGet();
+                lastModified.touch();
+            }
+        }
+        return value;
+    }
+
+    // Access-ordered LRU with a per-entry expiry; expired entries stay until replaced or evicted
+    private static final class Region<K, V> {
+        private final Map<K, Entry<V>> entries;
+        private final long ttlNanos;
+        private final Counter hits;
+        private final Counter misses;
+
+        private record Entry<V>(V value, long expiresAt) {
+        }
+
+        Region(String name, int maxSize, long ttlSeconds, MeterRegistry meterRegistry) {
+            int capacity = Math.max(maxSize, 1);
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+            this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+            this.hits = Counter.builder("events.catalog.cache")
+                    .description("Event catalog cache lookups")
+                    .tag("region", name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("events.catalog.cache")
+                    .description("Event catalog cache lookups")
+                    .tag("region", name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("events.catalog.cache.hit.ratio", this, Region::hitRatio)
+                    .description("Share of event catalog lookups served from the cache")
+                    .tag("region", name)
+                    .register(meterRegistry);
+            Gauge.builder("events.catalog.cache.size", this, Region::size)
+                    .tag("region", name)
+                    .register(meterRegistry);
+        }
+
+        synchronized V get(K key) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value();
+            }
+            misses.increment();
+            return null;
+        }
+
+        // Returns the value it replaced, normally an expired one
+        synchronized V put(K key, V value) {
+            Entry<V> previous = entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            return previous != null ? previous.value() : null;
+        }
+
+        synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        synchronized void removeIf(java.util.function.Predicate<K> predicate) {
+            entries.keySet().removeIf(predicate);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventFacetDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import com.siddhant.event_mate.exception.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Faceted filtering over the event catalog without SQL. Every event gets an ordinal,
+ * and every facet value (and every day an event runs on) a bitmap of the ordinals
+ * that have it; a filter is an OR of the selected values within each facet and an AND
+ * across facets. Counts per value are taken under the other facets' selections, so
+ * the UI can show what picking another value would give. Kept current from
+ * EventService like the search index.
+ */
+@Service
+public class EventFacetIndex implements EventService.EventChangeListener {
+
+    // An event longer than this (e.g. a standing exhibition) is indexed for its first year
+    private static final int MAX_INDEXED_DAYS = 366;
+
+    enum Facet {
+        CATEGORY("category"), PRICE_BAND("priceBand"), MOVIE_MODE("movieMode"),
+        CENSOR_RATING("censorRating"), VENUE("venue");
+
+        private final String key;
+
+        Facet(String key) {
+            this.key = key;
+        }
+    }
+
+    private final EventService eventService;
+    private final Timer filterTimer;
+    private final List<BigDecimal> priceBandLimits;
+    private final ReloadableIndex<Index> index = new ReloadableIndex<>(new Index());
+
+    public EventFacetIndex(EventService eventService,
+                           MeterRegistry meterRegistry,
+                           @Value("${events.facets.price-bands:250,500,1000}") List<BigDecimal> priceBandLimits) {
+        this.eventService = eventService;
+        this.priceBandLimits = priceBandLimits.stream().sorted().toList();
+        this.filterTimer = Timer.builder("events.facets")
+                .description("Time to answer a faceted catalog filter from the in-memory bitmaps")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void register() {
+        eventService.addChangeListener(this);
+    }
+
+    @Override
+    public void onCatalogLoading() {
+        index.beginReload();
+    }
+
+    @Override
+    public void onCatalogLoadFailed() {
+        index.abortReload();
+    }
+
+    @Override
+    public void onCatalogLoaded(List<EventSnapshot> events) {
+        index.reload(() -> {
+            Index built = new Index();
+            for (EventSnapshot event : events) {
+                built.add(event, valuesOf(event));
+            }
+            return built;
+        });
+    }
+
+    @Override
+    public void onEventChanged(Long eventId, EventSnapshot event) {
+        Map<Facet, String> values = event != null ? valuesOf(event) : null;
+        index.apply(target -> {
+            target.remove(eventId);
+            if (event != null) {
+                target.add(event, values);
+            }
+        });
+    }
+
+    public EventFacetDto.Result filter(EventFacetDto.Filter filter, int limit) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new BadRequestException("from must not be after to");
+        }
+        Map<Facet, List<String>> selected = new EnumMap<>(Facet.class);
+        putIfPresent(selected, Facet.CATEGORY, filter.getCategory());
+        putIfPresent(selected, Facet.PRICE_BAND, filter.getPriceBand());
+        putIfPresent(selected, Facet.MOVIE_MODE, filter.getMovieMode());
+        putIfPresent(selected, Facet.CENSOR_RATING, filter.getCensorRating());
+        putIfPresent(selected, Facet.VENUE, filter.getVenue());
+        int size = Math.min(Math.max(limit, 1), EventService.MAX_PAGE_SIZE);
+
+        long start = System.nanoTime();
+        try {
+            return index.read(current -> filter(current, selected, filter.getFrom(), filter.getTo(), size));
+        } finally {
+            filterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static EventFacetDto.Result filter(Index index, Map<Facet, List<String>> selected,
+                                               LocalDate from, LocalDate to, int size) {
+        BitSet matches = index.match(selected, null, from, to);
+        List<EventSnapshot> events = new ArrayList<>(matches.cardinality());
+        matches.stream().forEach(ordinal -> events.add(index.events.get(ordinal)));
+        events.sort(Comparator.comparing(EventSnapshot::startDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(EventSnapshot::id));
+        List<EventSummaryDto> cards = new ArrayList<>();
+        Set<String> groups = new HashSet<>();
+        for (EventSnapshot event : events) {
+            if (groups.add(event.groupKey()) && cards.size() < size) {
+                cards.add(event.toSummary());
+            }
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (Facet facet : Facet.values()) {
+            BitSet others = selected.containsKey(facet)
+                    ? index.match(selected, facet, from, to)
+                    : matches;
+            Map<String, Integer> counts = new TreeMap<>();
+            index.values.get(facet).forEach((value, bits) -> {
+                BitSet both = (BitSet) bits.clone();
+                both.and(others);
+                int groupCount = index.countGroups(both);
+                if (groupCount > 0) {
+                    counts.put(value, groupCount);
+                }
+            });
+            facets.put(facet.key, counts);
+        }
+        return EventFacetDto.Result.builder()
+                .events(cards)
+                .total(groups.size())
+                .facets(facets)
+                .build();
+    }
+
+    private static void putIfPresent(Map<Facet, List<String>> selected, Facet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selected.put(facet, values);
+        }
+    }
+
+    private Map<Facet, String> valuesOf(EventSnapshot event) {
+        Map<Facet, String> values = new EnumMap<>(Facet.class);
+        putIfPresent(values, Facet.CATEGORY, event.category());
+        putIfPresent(values, Facet.PRICE_BAND, priceBand(event.minPrice()));
+        putIfPresent(values, Facet.MOVIE_MODE, event.movieMode());
+        putIfPresent(values, Facet.CENSOR_RATING, event.censorRating());
+        putIfPresent(values, Facet.VENUE, event.venue());
+        return values;
+    }
+
+    private static void putIfPresent(Map<Facet, String> values, Facet facet, String value) {
+        if (value != null && !value.isBlank()) {
+            values.put(facet, value.strip());
+        }
+    }
+
+    // "0-250", "250-500", ..., "1000+" for limits 250,500,1000
+    String priceBand(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal limit : priceBandLimits) {
+            if (price.compareTo(limit) < 0) {
+                return lower.toPlainString() + "-" + limit.toPlainString();
+            }
+            lower = limit;
+        }
+        return lower.toPlainString() + "+";
+    }
+
+    private static final class Index {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<EventSnapshot> events = new ArrayList<>(); // by ordinal, null once freed
+        private final List<Map<Facet, String>> eventValues = new ArrayList<>();
+        private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final Map<Facet, Map<String, BitSet>> values = new EnumMap<>(Facet.class);
+        private final TreeMap<LocalDate, BitSet> days = new TreeMap<>();
+
+        Index() {
+            for (Facet facet : Facet.values()) {
+                values.put(facet, new HashMap<>());
+            }
+        }
+
+        void add(EventSnapshot event, Map<Facet, String> facetValues) {
+            remove(event.id());
+            Integer reused = freeOrdinals.poll();
+            int ordinal = reused != null ? reused : events.size();
+            if (reused == null) {
+                events.add(event);
+                eventValues.add(facetValues);
+            } else {
+                events.set(ordinal, event);
+                eventValues.set(ordinal, facetValues);
+            }
+            ordinals.put(event.id(), ordinal);
+            live.set(ordinal);
+            facetValues.forEach((facet, value) ->
+                    values.get(facet).computeIfAbsent(value, v -> new BitSet()).set(ordinal));
+            forEachDay(event, day -> days.computeIfAbsent(day, d -> new BitSet()).set(ordinal));
+        }
+
+        void remove(Long eventId) {
+            Integer ordinal = ordinals.remove(eventId);
+            if (ordinal == null) {
+                return;
+            }
+            live.clear(ordinal);
+            eventValues.get(ordinal).forEach((facet, value) -> clear(values.get(facet), value, ordinal));
+            forEachDay(events.get(ordinal), day -> clear(days, day, ordinal));
+            events.set(ordinal, null);
+            eventValues.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+
+        private static <K> void clear(Map<K, BitSet> bitmaps, K key, int ordinal) {
+            BitSet bits = bitmaps.get(key);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+
+        private static void forEachDay(EventSnapshot event, Consumer<LocalDate> action) {
+            if (event.startDate() == null) {
+                return;
+            }
+            LocalDate end = event.endDate() != null ? event.endDate() : event.startDate();
+            LocalDate day = event.startDate();
+            for (int i = 0; i < MAX_INDEXED_DAYS && !day.isAfter(end); i++, day = day.plusDays(1)) {
+                action.accept(day);
+            }
+        }
+
+        // Events matching every selected facet but the excepted one, and the date range
+        BitSet match(Map<Facet, List<String>> selected, Facet except, LocalDate from, LocalDate to) {
+            BitSet result = (BitSet) live.clone();
+            selected.forEach((facet, wanted) -> {
+                if (facet != except) {
+                    BitSet any = new BitSet();
+                    for (String value : wanted) {
+                        BitSet bits = values.get(facet).get(value);
+                        if (bits != null) {
+                            any.or(bits);
+                        }
+                    }
+                    result.and(any);
+                }
+            });
+            if (from != null || to != null) {
+                BitSet any = new BitSet();
+                days.subMap(from != null ? from : LocalDate.MIN, true, to != null ? to : LocalDate.MAX, true)
+                        .values().forEach(any::or);
+                result.and(any);
+            }
+            return result;
+        }
+
+        int countGroups(BitSet bits) {
+            Set<String> groups = new HashSet<>();
+            bits.stream().forEach(ordinal -> groups.add(events.get(ordinal).groupKey()));
+            return groups.size();
+        }
+    }
+}
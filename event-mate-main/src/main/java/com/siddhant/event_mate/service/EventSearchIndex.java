@@ -0,0 +1,297 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index over the event catalog: title, cast, category, venue and
+ * description, ranked with BM25 over field-weighted term frequencies. Query terms also
+ * match as prefixes and, from four letters on, with one typo (two from eight letters).
+ * Rebuilt from the whole catalog at startup, with documents analyzed in parallel, and
+ * updated per event as EventService writes commit.
+ */
+@Service
+@Slf4j
+public class EventSearchIndex implements EventService.EventChangeListener {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_WEIGHT = 0.8f;
+    private static final float FUZZY_WEIGHT = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "at", "by", "for", "in", "of", "on",
+            "or", "the", "to", "with");
+
+    private final EventService eventService;
+    private final Timer searchTimer;
+    private final ReloadableIndex<Index> index = new ReloadableIndex<>(new Index());
+
+    public EventSearchIndex(EventService eventService, MeterRegistry meterRegistry) {
+        this.eventService = eventService;
+        this.searchTimer = Timer.builder("events.search")
+                .description("Time to answer a full-text event search from the in-memory index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void register() {
+        eventService.addChangeListener(this);
+    }
+
+    @Override
+    public void onCatalogLoading() {
+        index.beginReload();
+    }
+
+    @Override
+    public void onCatalogLoadFailed() {
+        index.abortReload();
+    }
+
+    @Override
+    public void onCatalogLoaded(List<EventSnapshot> events) {
+        Index rebuilt = index.reload(() -> {
+            Index built = new Index();
+            events.parallelStream().map(EventSearchIndex::analyze).toList().forEach(built::add);
+            return built;
+        });
+        log.info("Indexed {} events for search ({} terms)", rebuilt.docs.size(), rebuilt.postings.size());
+    }
+
+    @Override
+    public void onEventChanged(Long eventId, EventSnapshot event) {
+        Doc doc = event != null ? analyze(event) : null;
+        index.apply(target -> {
+            target.remove(eventId);
+            if (doc != null) {
+                target.add(doc);
+            }
+        });
+    }
+
+    /**
+     * Best matches first, one card per event group, optionally within one category.
+     * Every query term has to match; when no event matches them all, events matching
+     * any of them are returned instead.
+     */
+    public List<EventSummaryDto> search(String query, String category, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), EventService.MAX_PAGE_SIZE);
+        long start = System.nanoTime();
+        try {
+            return index.read(current -> cards(current, terms, category, size));
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static List<EventSummaryDto> cards(Index index, List<String> terms, String category, int size) {
+        Map<Long, float[]> scores = score(index, terms);
+        List<Map.Entry<Long, Float>> ranked = rank(scores, true);
+        if (ranked.isEmpty()) {
+            ranked = rank(scores, false);
+        }
+        List<EventSummaryDto> results = new ArrayList<>();
+        Set<String> groups = new HashSet<>();
+        for (Map.Entry<Long, Float> hit : ranked) {
+            EventSnapshot event = index.docs.get(hit.getKey()).snapshot();
+            if ((category == null || category.equalsIgnoreCase(event.category())) && groups.add(event.groupKey())) {
+                results.add(event.toSummary());
+                if (results.size() == size) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    // Per event, the best score of each query term over its exact, prefix and fuzzy matches
+    private static Map<Long, float[]> score(Index index, List<String> terms) {
+        int documents = index.docs.size();
+        double averageLength = index.averageLength();
+        Map<Long, float[]> scores = new HashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            for (Map.Entry<String, Float> candidate : expand(index, terms.get(i)).entrySet()) {
+                Map<Long, Float> postings = index.postings.get(candidate.getKey());
+                double idf = Math.log(1 + (documents - postings.size() + 0.5) / (postings.size() + 0.5));
+                for (Map.Entry<Long, Float> posting : postings.entrySet()) {
+                    float tf = posting.getValue();
+                    float length = index.docs.get(posting.getKey()).length();
+                    double saturated = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    float score = (float) (candidate.getValue() * idf * saturated);
+                    float[] perTerm = scores.computeIfAbsent(posting.getKey(), id -> new float[terms.size()]);
+                    perTerm[i] = Math.max(perTerm[i], score);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static List<Map.Entry<Long, Float>> rank(Map<Long, float[]> scores, boolean allTerms) {
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>();
+        scores.forEach((id, perTerm) -> {
+            float total = 0;
+            for (float score : perTerm) {
+                if (score == 0 && allTerms) {
+                    return;
+                }
+                total += score;
+            }
+            ranked.add(Map.entry(id, total));
+        });
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return ranked;
+    }
+
+    // Index terms a query term stands for, with the weight of each kind of match
+    private static Map<String, Float> expand(Index index, String term) {
+        Map<String, Float> candidates = new HashMap<>();
+        if (index.postings.containsKey(term)) {
+            candidates.put(term, 1f);
+        }
+        if (term.length() >= 2) {
+            int expansions = 0;
+            for (String other : index.postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                candidates.put(other, PREFIX_WEIGHT);
+            }
+        }
+        if (candidates.isEmpty() && term.length() >= 4) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            // Typos rarely hit the first letter, which keeps the scan to one slice of the terms
+            String first = term.substring(0, 1);
+            for (String other : index.postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (Math.abs(other.length() - term.length()) <= maxEdits && withinEdits(term, other, maxEdits)) {
+                    candidates.put(other, FUZZY_WEIGHT);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Levenshtein distance <= maxEdits, giving up as soon as a whole row exceeds it
+    static boolean withinEdits(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    // Lower-cased, accent-folded words, without stop words
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Doc analyze(EventSnapshot event) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = addField(frequencies, event.title(), 3f)
+                + addField(frequencies, String.join(" ", event.cast()), 2f)
+                + addField(frequencies, event.category(), 2f)
+                + addField(frequencies, event.venue(), 1.5f)
+                + addField(frequencies, event.description(), 1f);
+        return new Doc(event, frequencies, Math.max(length, 1f));
+    }
+
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    // Field-weighted term frequencies of one event; length is their sum
+    private record Doc(EventSnapshot snapshot, Map<String, Float> frequencies, float length) {
+    }
+
+    private static final class Index {
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private double totalLength;
+
+        void add(Doc doc) {
+            Long id = doc.snapshot().id();
+            remove(id);
+            docs.put(id, doc);
+            totalLength += doc.length();
+            doc.frequencies().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+        }
+
+        void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            totalLength -= doc.length();
+            for (String term : doc.frequencies().keySet()) {
+                Map<Long, Float> documents = postings.get(term);
+                documents.remove(id);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        double averageLength() {
+            return docs.isEmpty() ? 1 : totalLength / docs.size();
+        }
+    }
+
+    // Used by tests and diagnostics
+    int size() {
+        return index.read(current -> current.docs.size());
+    }
+}
@@ -2,33 +2,217 @@ package com.siddhant.event_mate.service;
 
 import com.siddhant.event_mate.dto.EventDto;
 import com.siddhant.event_mate.dto.EventSectionDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
 import com.siddhant.event_mate.entity.Event;
 import com.siddhant.event_mate.entity.EventSection;
+import com.siddhant.event_mate.exception.BadRequestException;
 import com.siddhant.event_mate.exception.ResourceNotFoundException;
 import com.siddhant.event_mate.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class EventService {
 
     private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final EventCatalogCache eventCatalogCache;
 
-    // User View: Returns unique events (one per group)
-    public List<EventDto> getAllEvents() {
-        return eventRepository.findUniqueEventsByGroupId().stream()
+    private final List<EventChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // In-memory catalog indexes, kept current from the writes below
+    public interface EventChangeListener {
+        // Before the catalog is queried for a reload; changes from here on must survive it
+        default void onCatalogLoading() {
+        }
+
+        // The catalog query of a reload failed
+        default void onCatalogLoadFailed() {
+        }
+
+        // The full catalog, at startup and on every periodic reload
+        void onCatalogLoaded(List<EventSnapshot> events);
+
+        // After a write commits; event is null when it was deleted
+        void onEventChanged(Long eventId, EventSnapshot event);
+    }
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private enum SummarySort {
+        DATE, TITLE, PRICE
+    }
+
+    /**
+     * User View: catalog cards, one per event group, optionally of one category. Pages
+     * are keyset-paginated on the sort key (date, title or price) plus id; pass the
+     * returned cursor back to get the next page.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EventSummaryDto.Page getEventSummaries(String category, String sort, String cursor, int limit) {
+        SummarySort order;
+        try {
+            order = SummarySort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Sort must be one of date, title or price.");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String[] after = decodeCursor(order, cursor);
+        Long afterId = after != null ? Long.valueOf(after[0]) : null;
+        String afterValue = after != null ? after[1] : null;
+        return eventCatalogCache.getSummaries(new EventCatalogCache.ListKey(category, order.name(), cursor, size), () -> {
+            List<EventRepository.EventSummaryView> rows = switch (order) {
+                case DATE -> eventRepository.findSummariesByDate(category,
+                        afterValue != null ? java.time.LocalDate.parse(afterValue) : null, afterId, size + 1);
+                case TITLE -> eventRepository.findSummariesByTitle(category, afterValue, afterId, size + 1);
+                case PRICE -> eventRepository.findSummariesByPrice(category,
+                        afterValue != null ? new java.math.BigDecimal(afterValue) : null, afterId, size + 1);
+            };
+            return toSummaryPage(rows, order, size);
+        });
+    }
+
+    // The listing as it was before paging: every group's event in full, optionally of one category
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventDto> getUniqueEvents(String category) {
+        return eventCatalogCache.getFullList(category, () -> (category == null
+                ? eventRepository.findByGroupRepresentativeTrueOrderByStartDateAscIdAsc()
+                : eventRepository.findByCategoryAndGroupRepresentativeTrueOrderByStartDateAscIdAsc(category))
+                .stream()
                 .map(this::mapToDto)
+                .collect(Collectors.toList()));
+    }
+
+    // Rows are fetched with one extra to tell whether another page follows
+    private static EventSummaryDto.Page toSummaryPage(List<EventRepository.EventSummaryView> rows, SummarySort order,
+                                                      int size) {
+        List<EventSummaryDto> events = rows.stream()
+                .limit(size)
+                .map(row -> EventSummaryDto.builder()
+                        .id(row.getId())
+                        .title(row.getTitle())
+                        .category(row.getCategory())
+                        .startDate(row.getStartDate())
+                        .endDate(row.getEndDate())
+                        .minPrice(row.getMinPrice())
+                        .imageUrl(row.getImageUrl())
+                        .build())
                 .collect(Collectors.toList());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            EventSummaryDto last = events.get(size - 1);
+            String value = switch (order) {
+                case DATE -> String.valueOf(last.getStartDate());
+                case TITLE -> last.getTitle();
+                case PRICE -> last.getMinPrice().toPlainString();
+            };
+            nextCursor = encodeCursor(order, last.getId(), value);
+        }
+        return EventSummaryDto.Page.builder().events(events).nextCursor(nextCursor).build();
+    }
+
+    // Opaque to clients: sort, id and sort value of the last row, base64url encoded
+    private static String encodeCursor(SummarySort order, Long id, String value) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (order.name() + '\n' + id + '\n' + value).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    // {id, value} of the last row seen, or null for the first page
+    private static String[] decodeCursor(SummarySort order, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(java.util.Base64.getUrlDecoder().decode(cursor),
+                    java.nio.charset.StandardCharsets.UTF_8).split("\n", 3);
+            if (parts.length == 3 && parts[0].equals(order.name())) {
+                Long.parseLong(parts[1]);
+                switch (order) {
+                    case DATE -> java.time.LocalDate.parse(parts[2]);
+                    case PRICE -> new java.math.BigDecimal(parts[2]);
+                    case TITLE -> { }
+                }
+                return new String[] { parts[1], parts[2] };
+            }
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            // Falls through to the error below
+        }
+        throw new BadRequestException("Invalid cursor for sort " + order.name().toLowerCase() + ".");
+    }
+
+    public void addChangeListener(EventChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    // Periodic reloads pick up writes made by other instances
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.index.reload-interval-ms:3600000}",
+            fixedDelayString = "${events.index.reload-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void reloadCatalog() {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        // Opened before the query, so a write committing while it runs is replayed rather than lost
+        changeListeners.forEach(EventChangeListener::onCatalogLoading);
+        List<EventSnapshot> events;
+        try {
+            events = eventRepository.findAll().stream()
+                    .map(EventSnapshot::of)
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            changeListeners.forEach(EventChangeListener::onCatalogLoadFailed);
+            throw e;
+        }
+        for (EventChangeListener listener : changeListeners) {
+            try {
+                listener.onCatalogLoaded(events);
+            } catch (RuntimeException e) {
+                log.warn("Catalog listener failed to load {} events: {}", events.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void publishAfterCommit(Long eventId, EventSnapshot event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(eventId, event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(eventId, event);
+            }
+        });
+    }
+
+    private void publish(Long eventId, EventSnapshot event) {
+        for (EventChangeListener listener : changeListeners) {
+            try {
+                listener.onEventChanged(eventId, event);
+            } catch (RuntimeException e) {
+                log.warn("Catalog listener failed on event {}: {}", eventId, e.getMessage());
+            }
+        }
     }
 
     // Admin View: Returns ALL events (including duplicates for dates)
@@ -38,10 +222,50 @@ public class EventService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EventDto getEventById(Long id) {
+        return eventCatalogCache.getEvent(id, () -> eventRepository.findById(id)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id)));
+    }
+
+    // Validators for conditional GETs of the catalog; read them before building the body
+    public String getCatalogTag() {
+        return Long.toString(eventCatalogCache.getVersion());
+    }
+
+    public long getCatalogLastModified() {
+        return eventCatalogCache.getLastModified();
+    }
+
+    // The catalog version, plus the seat version when the detail is for a scheduled show
+    public String getEventTag(Long id, java.time.LocalDateTime showDate) {
+        String catalog = getCatalogTag();
+        if (showDate == null) {
+            return catalog;
+        }
+        EventDto event = getEventById(id);
+        boolean scheduled = SeatInventoryService.isScheduledShow(event.getStartDate(), event.getEndDate(),
+                event.getShowTimes(), showDate);
+        return scheduled ? catalog + "-" + seatInventoryService.getShow(id, showDate).getVersion() : catalog;
+    }
+
+    // Event detail with live capacity and remaining seats per section for one show
+    public EventDto getEventById(Long id, java.time.LocalDateTime showDate) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
-        return mapToDto(event);
+        EventDto dto = mapToDto(event);
+        if (dto.getSections() != null && SeatInventoryService.isScheduledShow(event, showDate)) {
+            SeatInventoryService.ShowSeats show = seatInventoryService.getShow(id, showDate);
+            for (EventSectionDto section : dto.getSections()) {
+                SectionGrid grid = show.grid(section.getId());
+                if (grid != null) {
+                    section.setCapacity(grid.capacity());
+                    section.setRemainingSeats(show.remaining(section.getId()));
+                }
+            }
+        }
+        return dto;
     }
 
     public List<EventDto> getEventsByGroupId(String groupId) {
@@ -82,6 +306,9 @@ public class EventService {
         // logic to set organizer if needed, currently not mapped in DTO -> Entity fully
         // for organizer
         Event savedEvent = eventRepository.save(event);
+        eventRepository.refreshGroupRepresentatives(savedEvent.getId(), savedEvent.getGroupId());
+        eventCatalogCache.invalidate(null, java.util.Collections.singletonList(savedEvent.getCategory()));
+        publishAfterCommit(savedEvent.getId(), EventSnapshot.of(savedEvent));
         return mapToDto(savedEvent);
     }
 
@@ -89,6 +316,8 @@ public class EventService {
         validateEvent(eventDto);
         Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        String previousCategory = existingEvent.getCategory();
+        String previousGroupId = existingEvent.getGroupId();
 
         existingEvent.setTitle(eventDto.getTitle());
         existingEvent.setDescription(eventDto.getDescription());
@@ -126,17 +355,28 @@ public class EventService {
         }
 
         Event updatedEvent = eventRepository.save(existingEvent);
+        eventRepository.refreshGroupRepresentatives(id, updatedEvent.getGroupId());
+        if (previousGroupId != null && !previousGroupId.equals(updatedEvent.getGroupId())) {
+            eventRepository.refreshGroupRepresentatives(null, previousGroupId);
+        }
+        seatInventoryService.evictEvent(id);
+        eventCatalogCache.invalidate(id, java.util.Arrays.asList(previousCategory, updatedEvent.getCategory()));
+        publishAfterCommit(id, EventSnapshot.of(updatedEvent));
         return mapToDto(updatedEvent);
     }
 
     public void deleteEvent(Long id) {
+        // Loaded by deleteById anyway, so this adds no query
+        Event event = eventRepository.findById(id).orElse(null);
+        String category = event != null ? event.getCategory() : null;
         eventRepository.deleteById(id);
-    }
-
-    public List<EventDto> searchEvents(String category) {
-        return eventRepository.findUniqueEventsByCategory(category).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        if (event != null && event.getGroupId() != null) {
+            // The next member in line becomes the group's card
+            eventRepository.refreshGroupRepresentatives(null, event.getGroupId());
+        }
+        seatInventoryService.evictEvent(id);
+        eventCatalogCache.invalidate(id, java.util.Collections.singletonList(category));
+        publishAfterCommit(id, null);
     }
 
     private EventDto mapToDto(Event event) {
@@ -152,13 +392,13 @@ public class EventService {
                 .venue(event.getVenue())
                 .startDate(event.getStartDate())
                 .endDate(event.getEndDate())
-                .showTimes(event.getShowTimes())
+                .showTimes(copyOf(event.getShowTimes()))
                 .date(legacyDate)
                 .price(event.getPrice())
                 .imageUrl(event.getImageUrl())
                 .category(event.getCategory())
                 .trailerUrl(event.getTrailerUrl())
-                .mediaUrls(event.getMediaUrls())
+                .mediaUrls(copyOf(event.getMediaUrls()))
                 .duration(event.getDuration())
                 .censorRating(event.getCensorRating())
                 .sections(event.getSections() != null
@@ -168,10 +408,15 @@ public class EventService {
                         : null)
                 .imdbRating(event.getImdbRating())
                 .movieMode(event.getMovieMode())
-                .cast(event.getCast())
+                .cast(copyOf(event.getCast()))
                 .build();
     }
 
+    // Detached copy, so the DTO never holds a lazy collection that outlives the session
+    private static <T> List<T> copyOf(List<T> values) {
+        return values != null ? new java.util.ArrayList<>(values) : null;
+    }
+
     private EventSectionDto mapSectionToDto(EventSection section) {
         return EventSectionDto.builder()
                 .id(section.getId())
@@ -0,0 +1,54 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import com.siddhant.event_mate.entity.Event;
+import com.siddhant.event_mate.entity.EventSection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable copy of the catalog fields of an event, taken inside the transaction that
+ * loaded or wrote it, for the in-memory catalog indexes to consume after commit.
+ */
+public record EventSnapshot(Long id, String groupId, String title, String description, String venue,
+                            String category, List<String> cast, LocalDate startDate, LocalDate endDate,
+                            List<LocalTime> showTimes, BigDecimal minPrice, String imageUrl, String movieMode,
+                            String censorRating) {
+
+    public static EventSnapshot of(Event event) {
+        BigDecimal minPrice = event.getSections() == null ? null : event.getSections().stream()
+                .map(EventSection::getPrice)
+                .filter(Objects::nonNull)
+                .min(BigDecimal::compareTo)
+                .orElse(null);
+        return new EventSnapshot(event.getId(), event.getGroupId(), event.getTitle(), event.getDescription(),
+                event.getVenue(), event.getCategory(), copyOf(event.getCast()), event.getStartDate(),
+                event.getEndDate(), copyOf(event.getShowTimes()), minPrice != null ? minPrice : event.getPrice(),
+                event.getImageUrl(), event.getMovieMode(), event.getCensorRating());
+    }
+
+    // Events without a group are a group of their own
+    public String groupKey() {
+        return groupId != null ? groupId : "#" + id;
+    }
+
+    public EventSummaryDto toSummary() {
+        return EventSummaryDto.builder()
+                .id(id)
+                .title(title)
+                .category(category)
+                .startDate(startDate)
+                .endDate(endDate)
+                .minPrice(minPrice)
+                .imageUrl(imageUrl)
+                .build();
+    }
+
+    private static <T> List<T> copyOf(List<T> values) {
+        return values != null ? values.stream().filter(Objects::nonNull).toList() : List.of();
+    }
+}
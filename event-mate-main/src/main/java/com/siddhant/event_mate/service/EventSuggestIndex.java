@@ -0,0 +1,341 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventSuggestionDto;
+import com.siddhant.event_mate.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead over event titles and cast names. Every word start of a title or name is
+ * a key in a trie flattened into primitive arrays, and each trie node carries the ids
+ * of its best suggestions, so a lookup is a walk down the typed prefix and never
+ * touches the database. Suggestions rank by upcoming shows and recent ticket sales.
+ * The trie is immutable and rebuilt off the request path: right away for a full
+ * catalog load, and at most once per rebuild delay for single event changes and
+ * refreshed sales figures.
+ */
+@Service
+@Slf4j
+public class EventSuggestIndex implements EventService.EventChangeListener {
+
+    static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EventService eventService;
+    private final BookingRepository bookingRepository;
+    private final Timer suggestTimer;
+
+    private final long popularityDays;
+    private final long horizonDays;
+
+    // The catalog as last published
+    private final ReloadableIndex<Map<Long, EventSnapshot>> events = new ReloadableIndex<>(new HashMap<>());
+
+    // Guarded by this; tickets sold per event
+    private Map<Long, Long> ticketsSold = Map.of();
+    private boolean dirty;
+
+    private volatile Trie trie = Trie.build(List.of());
+
+    public EventSuggestIndex(EventService eventService,
+                             BookingRepository bookingRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${events.suggest.popularity-days:30}") long popularityDays,
+                             @Value("${events.suggest.horizon-days:30}") long horizonDays) {
+        this.eventService = eventService;
+        this.bookingRepository = bookingRepository;
+        this.popularityDays = popularityDays;
+        this.horizonDays = horizonDays;
+        this.suggestTimer = Timer.builder("events.suggest")
+                .description("Time to answer a type-ahead lookup from the in-memory trie")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void register() {
+        eventService.addChangeListener(this);
+    }
+
+    @Override
+    public void onCatalogLoading() {
+        events.beginReload();
+    }
+
+    @Override
+    public void onCatalogLoadFailed() {
+        events.abortReload();
+    }
+
+    @Override
+    public void onCatalogLoaded(List<EventSnapshot> catalog) {
+        events.reload(() -> {
+            Map<Long, EventSnapshot> loaded = new HashMap<>();
+            for (EventSnapshot event : catalog) {
+                loaded.put(event.id(), event);
+            }
+            return loaded;
+        });
+        synchronized (this) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onEventChanged(Long eventId, EventSnapshot event) {
+        events.apply(current -> {
+            if (event != null) {
+                current.put(eventId, event);
+            } else {
+                current.remove(eventId);
+            }
+        });
+        synchronized (this) {
+            dirty = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.suggest.rebuild-delay-ms:1000}")
+    synchronized void rebuildIfDirty() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.suggest.popularity-refresh-ms:600000}")
+    void refreshPopularity() {
+        try {
+            Map<Long, Long> counts = bookingRepository
+                    .countTicketsSoldByEvent(LocalDateTime.now().minusDays(popularityDays)).stream()
+                    .collect(Collectors.toMap(BookingRepository.EventTicketCount::getEventId,
+                            BookingRepository.EventTicketCount::getTickets));
+            synchronized (this) {
+                ticketsSold = counts;
+                dirty = true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh ticket sales for suggestions: {}", e.getMessage());
+        }
+    }
+
+    public List<EventSuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            // A trailing separator is kept, so "star " only matches whole words
+            String key = SEPARATORS.matcher(EventSearchIndex.fold(prefix)).replaceAll(" ").stripLeading();
+            return trie.lookup(key, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+        } finally {
+            suggestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Caller holds the monitor
+    private void rebuild() {
+        LocalDate today = LocalDate.now();
+        Map<String, Suggestion> suggestions = new HashMap<>();
+        for (EventSnapshot event : events.read(current -> List.copyOf(current.values()))) {
+            double weight = weight(event, today);
+            add(suggestions, EventSuggestionDto.Kind.TITLE, event.title(), event.id(), weight);
+            for (String member : event.cast()) {
+                add(suggestions, EventSuggestionDto.Kind.CAST, member, null, weight);
+            }
+        }
+        trie = Trie.build(suggestions.values());
+        dirty = false;
+    }
+
+    // Shows in the next horizonDays plus, weighted double, tickets sold lately
+    private double weight(EventSnapshot event, LocalDate today) {
+        double weight = 2 * Math.log1p(ticketsSold.getOrDefault(event.id(), 0L));
+        LocalDate end = event.endDate() != null ? event.endDate() : event.startDate();
+        if (end != null && !end.isBefore(today)) {
+            LocalDate from = event.startDate() != null && event.startDate().isAfter(today) ? event.startDate() : today;
+            LocalDate until = end.isBefore(today.plusDays(horizonDays)) ? end : today.plusDays(horizonDays);
+            long days = from.isAfter(until) ? 0 : ChronoUnit.DAYS.between(from, until) + 1;
+            weight += Math.log1p(days * Math.max(event.showTimes().size(), 1));
+        }
+        return weight;
+    }
+
+    // Same text from several events (e.g. the dates of one group) is one suggestion
+    private static void add(Map<String, Suggestion> suggestions, EventSuggestionDto.Kind kind, String text,
+                            Long eventId, double weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String phrase = SEPARATORS.matcher(EventSearchIndex.fold(text)).replaceAll(" ").strip();
+        if (phrase.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.computeIfAbsent(kind + ":" + phrase,
+                k -> new Suggestion(text.strip(), kind, phrase));
+        suggestion.weight += weight;
+        if (eventId != null && (suggestion.eventId == null || weight > suggestion.bestEventWeight
+                || weight == suggestion.bestEventWeight && eventId < suggestion.eventId)) {
+            suggestion.eventId = eventId;
+            suggestion.bestEventWeight = weight;
+        }
+    }
+
+    private static final class Suggestion {
+        private final String text;
+        private final EventSuggestionDto.Kind kind;
+        private final String phrase;
+        private double weight;
+        private Long eventId;
+        private double bestEventWeight;
+
+        Suggestion(String text, EventSuggestionDto.Kind kind, String phrase) {
+            this.text = text;
+            this.kind = kind;
+            this.phrase = phrase;
+        }
+
+        // "the dark knight" is found from "the", "dark" and "knight"
+        Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (int i = 0; i < phrase.length(); i++) {
+                if (i == 0 || phrase.charAt(i - 1) == ' ') {
+                    keys.add(phrase.substring(i, Math.min(phrase.length(), i + MAX_KEY_LENGTH)));
+                }
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * Node n's children are the edges childOffset[n] until childOffset[n + 1], sorted
+     * by character; its best suggestions, best first, are the entries topOffset[n]
+     * until topOffset[n + 1]. Node 0 is the root.
+     */
+    private record Trie(int[] childOffset, char[] childChars, int[] childNodes, int[] topOffset, int[] top,
+                        String[] texts, EventSuggestionDto.Kind[] kinds, Long[] eventIds) {
+
+        List<EventSuggestionDto> lookup(String key, int limit) {
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                int edge = Arrays.binarySearch(childChars, childOffset[node], childOffset[node + 1],
+                        key.charAt(i));
+                if (edge < 0) {
+                    return List.of();
+                }
+                node = childNodes[edge];
+            }
+            int end = Math.min(topOffset[node + 1], topOffset[node] + limit);
+            List<EventSuggestionDto> results = new ArrayList<>(end - topOffset[node]);
+            for (int i = topOffset[node]; i < end; i++) {
+                int entry = top[i];
+                results.add(EventSuggestionDto.builder()
+                        .text(texts[entry])
+                        .kind(kinds[entry])
+                        .eventId(eventIds[entry])
+                        .build());
+            }
+            return results;
+        }
+
+        static Trie build(Collection<Suggestion> suggestions) {
+            List<Suggestion> ranked = new ArrayList<>(suggestions);
+            ranked.sort(Comparator.comparingDouble((Suggestion s) -> -s.weight)
+                    .thenComparingInt(s -> s.phrase.length())
+                    .thenComparing(s -> s.phrase));
+
+            // Inserting in rank order means each node's list fills up best first
+            Node root = new Node();
+            int nodeCount = 1;
+            for (int entry = 0; entry < ranked.size(); entry++) {
+                for (String key : ranked.get(entry).keys()) {
+                    Node node = root;
+                    node.offer(entry);
+                    for (int i = 0; i < key.length(); i++) {
+                        Node child = node.children.get(key.charAt(i));
+                        if (child == null) {
+                            child = new Node();
+                            node.children.put(key.charAt(i), child);
+                            nodeCount++;
+                        }
+                        node = child;
+                        node.offer(entry);
+                    }
+                }
+            }
+
+            int[] childOffset = new int[nodeCount + 1];
+            char[] childChars = new char[nodeCount - 1];
+            int[] childNodes = new int[nodeCount - 1];
+            int[] topOffset = new int[nodeCount + 1];
+            List<Integer> top = new ArrayList<>();
+            // Breadth first, so a node's index is known by the time its parent's edges are written
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            int next = 1;
+            int edge = 0;
+            for (int n = 0; n < nodeCount; n++) {
+                Node node = queue.poll();
+                childOffset[n] = edge;
+                topOffset[n] = top.size();
+                for (int i = 0; i < node.topCount; i++) {
+                    top.add(node.top[i]);
+                }
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    childChars[edge] = child.getKey();
+                    childNodes[edge++] = next++;
+                    queue.add(child.getValue());
+                }
+            }
+            childOffset[nodeCount] = edge;
+            topOffset[nodeCount] = top.size();
+
+            String[] texts = new String[ranked.size()];
+            EventSuggestionDto.Kind[] kinds = new EventSuggestionDto.Kind[ranked.size()];
+            Long[] eventIds = new Long[ranked.size()];
+            for (int i = 0; i < ranked.size(); i++) {
+                texts[i] = ranked.get(i).text;
+                kinds[i] = ranked.get(i).kind;
+                eventIds[i] = ranked.get(i).eventId;
+            }
+            return new Trie(childOffset, childChars, childNodes, topOffset,
+                    top.stream().mapToInt(Integer::intValue).toArray(), texts, kinds, eventIds);
+        }
+    }
+
+    // Build-time node; the TreeMap keeps edges in the order binary search needs
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final int[] top = new int[MAX_SUGGESTIONS];
+        private int topCount;
+
+        void offer(int entry) {
+            // A phrase can reach a node through two of its keys ("new york new")
+            if (topCount < MAX_SUGGESTIONS && (topCount == 0 || top[topCount - 1] != entry)) {
+                top[topCount++] = entry;
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.IdempotencyRecord;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response of a request that carries an Idempotency-Key the
+ * same user already sent for the same operation. The key is claimed and the
+ * response stored in the same transaction as the work itself, so a retry either
+ * sees the committed response or runs the request as if it were the first one.
+ * Recently completed keys are answered from a bounded LRU without a DB round trip.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<String, StoredResponse> recent;
+    private final Counter replays;
+
+    private record StoredResponse(String requestHash, int status, String body, LocalDateTime expiresAt) {
+    }
+
+    // response is null when the key was already completed by an earlier request
+    private record Outcome<T>(ResponseEntity<T> response, StoredResponse stored) {
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.recent = java.util.Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Requests answered from a stored idempotent response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once per (user, operation, key). Without a key the action just runs.
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String owner = SecurityContextHolder.getContext().getAuthentication().getName();
+        String id = sha256(owner + '\n' + operation + '\n' + key);
+        String requestHash = sha256(operation + '\n' + toJson(request));
+
+        StoredResponse cached = recent.get(id);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        Outcome<T> outcome = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plus(ttl);
+            if (idempotencyRecordRepository.insertIfAbsent(id, requestHash, now, expiresAt) == 0) {
+                // Someone else committed this key first
+                IdempotencyRecord record = idempotencyRecordRepository.findById(id)
+                        .filter(r -> r.getResponseStatus() != null)
+                        .orElseThrow(() -> new BadRequestException("A request with this " + HEADER
+                                + " is still being processed."));
+                return new Outcome<T>(null, new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                        record.getResponseBody(), record.getExpiresAt()));
+            }
+
+            ResponseEntity<T> response = action.get();
+            String body = response.getBody() != null ? toJson(response.getBody()) : null;
+            idempotencyRecordRepository.complete(id, response.getStatusCode().value(), body);
+            return new Outcome<>(response,
+                    new StoredResponse(requestHash, response.getStatusCode().value(), body, expiresAt));
+        });
+
+        // Only committed responses are cached
+        recent.put(id, outcome.stored());
+        return outcome.response() != null ? outcome.response() : replay(outcome.stored(), requestHash, responseType);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            recent.values().removeIf(stored -> !stored.expiresAt().isAfter(now));
+        }
+        Integer deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BadRequestException(HEADER + " was already used for a different request.");
+        }
+        replays.increment();
+        T body = null;
+        if (stored.body() != null && responseType != Void.class) {
+            try {
+                body = objectMapper.readValue(stored.body(), responseType);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Stored idempotent response is unreadable", e);
+            }
+        }
+        return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
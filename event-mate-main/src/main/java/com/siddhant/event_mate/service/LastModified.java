@@ -0,0 +1,25 @@
+package com.siddhant.event_mate.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Last-Modified validator in whole seconds, as If-Modified-Since is compared at
+ * second granularity. Every change moves it at least one second past its previous
+ * value, so a client that read the state before a change never gets a 304 for it.
+ */
+final class LastModified {
+
+    private final AtomicLong epochMillis = new AtomicLong(nextSecond(System.currentTimeMillis()));
+
+    long get() {
+        return epochMillis.get();
+    }
+
+    void touch() {
+        epochMillis.updateAndGet(previous -> Math.max(previous + 1000, nextSecond(System.currentTimeMillis())));
+    }
+
+    private static long nextSecond(long epochMillis) {
+        return (epochMillis / 1000 + 1) * 1000;
+    }
+}
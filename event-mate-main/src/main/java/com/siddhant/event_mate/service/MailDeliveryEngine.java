@@ -0,0 +1,168 @@
+package com.siddhant.event_mate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mail through a bounded queue and a fixed set of worker threads. Each worker
+ * drains up to a batch of queued messages and hands them to a single
+ * JavaMailSender.send(MimeMessage...) call, so one SMTP connection carries the
+ * whole batch. When the queue is full, submit waits briefly and then fails the
+ * message, which pushes back on the caller instead of growing without bound.
+ */
+@Service
+@Slf4j
+public class MailDeliveryEngine {
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<PendingMail> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final Timer sendTimer;
+    private final Counter failures;
+    private final Counter rejected;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private record PendingMail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+
+    public MailDeliveryEngine(JavaMailSender mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${email.engine.queue-capacity:1000}") int queueCapacity,
+                              @Value("${email.engine.workers:2}") int workerCount,
+                              @Value("${email.engine.batch-size:20}") int batchSize,
+                              @Value("${email.engine.offer-timeout-ms:500}") long offerTimeoutMs) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.workerCount = Math.max(workerCount, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.sendTimer = Timer.builder("email.engine.send")
+                .description("Time to deliver one batch of emails over a single SMTP connection")
+                .register(meterRegistry);
+        this.failures = Counter.builder("email.engine.failures")
+                .description("Emails the mail server did not accept")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("email.engine.rejected")
+                .description("Emails rejected because the delivery queue was full")
+                .register(meterRegistry);
+        Gauge.builder("email.engine.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting for a delivery worker")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().name("mail-delivery-" + i).daemon(true).start(this::work));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        PendingMail pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new RejectedExecutionException("Mail delivery stopped"));
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    public CompletableFuture<Void> submit(SimpleMailMessage message) {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        try {
+            message.copyTo(new MimeMailMessage(mimeMessage));
+        } catch (MailException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(mimeMessage);
+    }
+
+    /**
+     * Queues a message for delivery. The future completes once the mail server accepted
+     * it, or exceptionally if it was refused or the queue stayed full.
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            if (!running || !queue.offer(new PendingMail(message, result), offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                result.completeExceptionally(new RejectedExecutionException("Mail delivery queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void work() {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<PendingMail> batch) {
+        MimeMessage[] messages = batch.stream().map(PendingMail::message).toArray(MimeMessage[]::new);
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);
+            batch.forEach(pending -> pending.result().complete(null));
+        } catch (MailSendException e) {
+            // Partial failure: only the listed messages were refused
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingMail pending : batch) {
+                Exception cause = failed.isEmpty() ? e : failed.get(pending.message());
+                if (cause == null) {
+                    pending.result().complete(null);
+                } else {
+                    failures.increment();
+                    pending.result().completeExceptionally(cause);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Mail batch of {} failed: {}", batch.size(), e.getMessage());
+            failures.increment(batch.size());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,11 +21,12 @@ public class NotificationService {
     private final UserRepository userRepository;
     private final EmailService emailService;
 
+    @Transactional
     public void sendNotification(User user, String message) {
         log.info("Sending notification to {}: {}", user.getEmail(), message);
 
         // Send Email
-        emailService.sendEmail(user.getEmail(), "New Notification from Event Mate", message);
+        emailService.sendTemplate(user.getEmail(), "notification", java.util.Map.of("message", String.valueOf(message)));
 
         Notification notification = Notification.builder()
                 .user(user)
@@ -0,0 +1,102 @@
+package com.siddhant.event_mate.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory catalog index that is rebuilt from the whole catalog while it keeps
+ * taking single event changes. A reload opens a replay window before the catalog is
+ * queried; changes arriving from then on are applied to the current index and also
+ * recorded, and replayed onto the rebuilt index before it is swapped in. A change the
+ * query already saw is replayed too, which is harmless as changes replace the event.
+ */
+final class ReloadableIndex<I> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Both guarded by lock; replay is non-null from the start of a reload until its swap
+    private I index;
+    private List<Consumer<I>> replay;
+
+    ReloadableIndex(I index) {
+        this.index = index;
+    }
+
+    // Before the catalog is queried
+    void beginReload() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The catalog query failed; the current index kept taking changes, so it stays as it is
+    void abortReload() {
+        lock.writeLock().lock();
+        try {
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the new index outside the lock, then replays the changes recorded since
+     * beginReload onto it and swaps it in. Without a beginReload the window opens here.
+     */
+    I reload(Supplier<I> build) {
+        lock.writeLock().lock();
+        try {
+            if (replay == null) {
+                replay = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        I rebuilt;
+        try {
+            rebuilt = build.get();
+        } catch (RuntimeException e) {
+            abortReload();
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            if (replay != null) {
+                replay.forEach(change -> change.accept(rebuilt));
+            }
+            index = rebuilt;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuilt;
+    }
+
+    void apply(Consumer<I> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    <T> T read(Function<I, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Time-limited seat holds. A hold keeps its seats claimed in the show's seat
+ * inventory until it is redeemed by createBooking, cancelled, or swept after it
+ * expires. Every state change is a single ConcurrentMap.remove(id, hold), so a hold
+ * is released or redeemed exactly once without locking.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldService {
+
+    private final SeatInventoryService seatInventoryService;
+
+    @Value("${booking.hold.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${booking.hold.max-seats:10}")
+    private int maxSeats;
+
+    // Active holds one user may have on a single show
+    @Value("${booking.hold.max-per-show:2}")
+    private int maxHoldsPerShow;
+
+    private final ConcurrentMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+
+    public record SeatHold(String id, String owner, Long eventId, LocalDateTime showDate,
+                           List<SeatInventoryService.Seat> seats, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        boolean isFor(SeatInventoryService.ShowKey key) {
+            return eventId.equals(key.eventId()) && showDate.equals(key.showDate());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // Held seats are not in the tickets table, so re-apply them whenever a show is rebuilt
+        seatInventoryService.addRetainedSeats(key -> holds.values().stream()
+                .filter(hold -> hold.isFor(key))
+                .flatMap(hold -> hold.seats().stream())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Seats must already be claimed in the seat inventory by the caller, who holds the
+     * show's allocation lock, so the owner's holds on the show cannot change meanwhile.
+     */
+    public SeatHold register(String owner, Long eventId, LocalDateTime showDate,
+                             List<SeatInventoryService.Seat> seats) {
+        if (seats.size() > maxSeats) {
+            throw new BadRequestException("A hold can contain at most " + maxSeats + " seats.");
+        }
+        SeatInventoryService.ShowKey key = new SeatInventoryService.ShowKey(eventId, showDate);
+        Instant now = Instant.now();
+        long active = holds.values().stream()
+                .filter(hold -> hold.owner().equals(owner) && hold.isFor(key) && !hold.isExpired(now))
+                .count();
+        if (active >= maxHoldsPerShow) {
+            throw new TooManyRequestsException("You can hold seats at most " + maxHoldsPerShow
+                    + " times for one show. Release a hold or book it first.");
+        }
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), owner, eventId, showDate, List.copyOf(seats),
+                Instant.now().plus(Duration.ofMinutes(ttlMinutes)));
+        holds.put(hold.id(), hold);
+        return hold;
+    }
+
+    // True while the owner's hold for the event is live, i.e. it may still be redeemed
+    public boolean isActive(String holdId, String owner, Long eventId) {
+        SeatHold hold = holds.get(holdId);
+        return hold != null && hold.owner().equals(owner) && hold.eventId().equals(eventId)
+                && !hold.isExpired(Instant.now());
+    }
+
+    /**
+     * Converts a hold into a booking. The seats stay claimed and become part of the
+     * caller's transaction: they are released if it rolls back.
+     */
+    public SeatHold redeem(String holdId, String owner, Long eventId, LocalDateTime showDate,
+                           List<SeatInventoryService.Seat> seats) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null || !hold.owner().equals(owner)) {
+            throw new BadRequestException("Seat hold not found or expired.");
+        }
+        if (!hold.eventId().equals(eventId) || !hold.showDate().equals(showDate)
+                || !new HashSet<>(hold.seats()).equals(new HashSet<>(seats))) {
+            throw new BadRequestException("Requested seats do not match the seat hold.");
+        }
+        if (!holds.remove(holdId, hold)) {
+            // Lost the race against the sweeper or a concurrent redeem
+            throw new BadRequestException("Seat hold not found or expired.");
+        }
+        if (hold.isExpired(Instant.now())) {
+            seatInventoryService.release(hold.eventId(), hold.showDate(), hold.seats());
+            throw new BadRequestException("Seat hold not found or expired.");
+        }
+
+        seatInventoryService.releaseOnRollback(hold.eventId(), hold.showDate(), hold.seats());
+        return hold;
+    }
+
+    public void cancel(String holdId, String owner) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null || !hold.owner().equals(owner)) {
+            throw new BadRequestException("Seat hold not found or expired.");
+        }
+        if (holds.remove(holdId, hold)) {
+            seatInventoryService.release(hold.eventId(), hold.showDate(), hold.seats());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval-ms:15000}")
+    public void releaseExpiredHolds() {
+        Instant now = Instant.now();
+        int released = 0;
+        for (SeatHold hold : holds.values()) {
+            if (hold.isExpired(now) && holds.remove(hold.id(), hold)) {
+                seatInventoryService.release(hold.eventId(), hold.showDate(), hold.seats());
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} expired seat holds", released);
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.dto.SeatAvailabilityDto;
+import com.siddhant.event_mate.entity.Event;
+import com.siddhant.event_mate.entity.Ticket;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.repository.EventSectionRepository;
+import com.siddhant.event_mate.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory seat occupancy per show. Each (eventId, showDate) keeps one bitmap per
+ * section, hydrated from the tickets table on first access and kept current by the
+ * booking flow, so seat conflict checks are memory lookups instead of per-seat queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryService {
+
+    private final TicketRepository ticketRepository;
+    private final EventSectionRepository eventSectionRepository;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<ShowKey, ShowSeats> shows = new ConcurrentHashMap<>();
+
+    // Seats claimed outside the tickets table (e.g. seat holds) that must survive a rebuild
+    private final List<Function<ShowKey, Collection<Seat>>> retainedSeats = new CopyOnWriteArrayList<>();
+
+    private final List<SeatChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // How often a whole section may be checked against the tickets table when it looks full
+    @Value("${booking.inventory.reconcile-interval-ms:30000}")
+    private long reconcileIntervalMs;
+
+    public record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    public record Seat(Long sectionId, int row, int col) {
+    }
+
+    public interface SeatChangeListener {
+        void onSeatsChanged(ShowKey show, boolean taken, Collection<Seat> seats, long version);
+    }
+
+    // True when the event actually plays at this date and time
+    public static boolean isScheduledShow(Event event, LocalDateTime showDate) {
+        return isScheduledShow(event.getStartDate(), event.getEndDate(), event.getShowTimes(), showDate);
+    }
+
+    // The same check on the schedule fields alone, e.g. of a cached EventDto
+    public static boolean isScheduledShow(LocalDate startDate, LocalDate endDate, List<LocalTime> showTimes,
+                                          LocalDateTime showDate) {
+        if (startDate == null || endDate == null || showTimes == null) {
+            return false;
+        }
+        LocalDate showLocalDate = showDate.toLocalDate();
+        return !showLocalDate.isBefore(startDate) && !showLocalDate.isAfter(endDate)
+                && showTimes.contains(showDate.toLocalTime());
+    }
+
+    public ShowSeats getShow(Long eventId, LocalDateTime showDate) {
+        return shows.computeIfAbsent(new ShowKey(eventId, showDate), this::hydrate);
+    }
+
+    /**
+     * Atomically claims all requested seats for the show, or none of them. Returns the
+     * seats that were already taken; an empty list means every seat is now held. When
+     * called inside a transaction the claim is released again if it rolls back, and
+     * listeners only hear about it once it commits.
+     */
+    public List<Seat> claim(Long eventId, LocalDateTime showDate, List<Seat> seats) {
+        ShowKey key = new ShowKey(eventId, showDate);
+        ShowSeats show = getShow(eventId, showDate);
+        List<Seat> conflicts = show.tryClaim(seats);
+        if (!conflicts.isEmpty() && releaseUnbacked(key, show, conflicts)) {
+            conflicts = show.tryClaim(seats);
+        }
+        if (conflicts.isEmpty()) {
+            onClaimed(new ShowKey(eventId, showDate), show, seats);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Finds and claims the best block of {@code quantity} adjacent free seats in one
+     * section: on the row closest to the preferred row (the section's middle row by
+     * default), as close to the centre of that row as possible. Returns an empty list
+     * when no row has a long enough run. Claims behave exactly like {@link #claim}.
+     */
+    public List<Seat> claimBestAvailable(Long eventId, LocalDateTime showDate, Long sectionId, int quantity,
+                                         Integer preferredRow) {
+        ShowSeats show = getShow(eventId, showDate);
+        List<Seat> seats = show.claimBestAvailable(sectionId, quantity, preferredRow);
+        if (seats.isEmpty() && reconcile(new ShowKey(eventId, showDate), show, List.of(sectionId))) {
+            seats = show.claimBestAvailable(sectionId, quantity, preferredRow);
+        }
+        if (!seats.isEmpty()) {
+            onClaimed(new ShowKey(eventId, showDate), show, seats);
+        }
+        return seats;
+    }
+
+    private void onClaimed(ShowKey key, ShowSeats show, List<Seat> seats) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyListeners(key, show, true, seats);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    notifyListeners(key, show, true, seats);
+                } else {
+                    release(key, show, seats);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks the seats taken here in the given sections against the tickets table and
+     * frees those it no longer backs, at most once per reconcile interval per show.
+     * Returns true when a seat was freed. For a section that looks too full to book.
+     */
+    public boolean reconcile(Long eventId, LocalDateTime showDate, Collection<Long> sectionIds) {
+        return reconcile(new ShowKey(eventId, showDate), getShow(eventId, showDate), sectionIds);
+    }
+
+    private boolean reconcile(ShowKey key, ShowSeats show, Collection<Long> sectionIds) {
+        long now = System.nanoTime();
+        long last = show.reconciledAt;
+        if (last != 0 && now - last < TimeUnit.MILLISECONDS.toNanos(reconcileIntervalMs)) {
+            return false;
+        }
+        show.reconciledAt = now;
+        return releaseUnbacked(key, show, show.takenSeats(sectionIds));
+    }
+
+    /**
+     * Frees the seats among the candidates that are taken here but neither sold in the
+     * tickets table nor held on this instance, e.g. seats whose pending booking another
+     * instance's reaper cancelled. Callers hold the show's allocation lock, so no local
+     * claim of the show is uncommitted meanwhile.
+     */
+    private boolean releaseUnbacked(ShowKey key, ShowSeats show, Collection<Seat> candidates) {
+        if (candidates.isEmpty()) {
+            return false;
+        }
+        Set<Long> sectionIds = new HashSet<>();
+        Set<Integer> rows = new HashSet<>();
+        Set<Integer> cols = new HashSet<>();
+        for (Seat seat : candidates) {
+            sectionIds.add(seat.sectionId());
+            rows.add(seat.row());
+            cols.add(seat.col());
+        }
+        Set<Seat> unbacked = new HashSet<>(candidates);
+        for (TicketRepository.SeatCoordinates found : ticketRepository.findSeatCoordinatesIn(key.eventId(),
+                key.showDate(), Ticket.TicketStatus.CANCELLED, sectionIds, rows, cols)) {
+            unbacked.remove(new Seat(found.getSectionId(), found.getRowNumber(), found.getColNumber()));
+        }
+        for (Function<ShowKey, Collection<Seat>> source : retainedSeats) {
+            source.apply(key).forEach(unbacked::remove);
+        }
+        if (unbacked.isEmpty() || !show.release(unbacked)) {
+            return false;
+        }
+        log.info("Freed {} seats of event {} at {} that are no longer sold", unbacked.size(), key.eventId(),
+                key.showDate());
+        notifyListeners(key, show, false, unbacked);
+        return true;
+    }
+
+    /**
+     * Checks the requested seats against the tickets table in a single query. The
+     * bitmap is node-local, so this catches seats already booked through another
+     * instance and evicts the stale show. It is not a guarantee: a booking committing
+     * concurrently on another instance is only stopped by idx_tickets_show_seat.
+     */
+    public List<Seat> findPersistedConflicts(Long eventId, LocalDateTime showDate, List<Seat> seats) {
+        if (seats.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> sectionIds = new HashSet<>();
+        Set<Integer> rows = new HashSet<>();
+        Set<Integer> cols = new HashSet<>();
+        for (Seat seat : seats) {
+            sectionIds.add(seat.sectionId());
+            rows.add(seat.row());
+            cols.add(seat.col());
+        }
+
+        Set<Seat> requested = new HashSet<>(seats);
+        List<Seat> conflicts = new ArrayList<>();
+        for (TicketRepository.SeatCoordinates found : ticketRepository.findSeatCoordinatesIn(eventId, showDate,
+                Ticket.TicketStatus.CANCELLED, sectionIds, rows, cols)) {
+            Seat seat = new Seat(found.getSectionId(), found.getRowNumber(), found.getColNumber());
+            if (requested.remove(seat)) {
+                conflicts.add(seat);
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            log.warn("Seat inventory for event {} at {} was stale, rebuilding", eventId, showDate);
+            shows.remove(new ShowKey(eventId, showDate));
+        }
+        return conflicts;
+    }
+
+    public void release(Long eventId, LocalDateTime showDate, Collection<Seat> seats) {
+        ShowKey key = new ShowKey(eventId, showDate);
+        ShowSeats show = shows.get(key);
+        if (show != null) {
+            release(key, show, seats);
+        }
+    }
+
+    // Rebuilt from the database on next access
+    public void evictShow(Long eventId, LocalDateTime showDate) {
+        shows.remove(new ShowKey(eventId, showDate));
+    }
+
+    // Section layout changed or event removed: rebuild lazily on next access
+    public void evictEvent(Long eventId) {
+        shows.keySet().removeIf(key -> key.eventId().equals(eventId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A seat read before the commit may have rebuilt a show from the old sections
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    shows.keySet().removeIf(key -> key.eventId().equals(eventId));
+                }
+            });
+        }
+    }
+
+    // Shows that have already started cannot be booked any more
+    @Scheduled(fixedDelayString = "${booking.inventory.evict-interval-ms:3600000}")
+    public void evictPastShows() {
+        LocalDateTime now = LocalDateTime.now();
+        shows.keySet().removeIf(key -> key.showDate().isBefore(now));
+    }
+
+    public void addRetainedSeats(Function<ShowKey, Collection<Seat>> source) {
+        retainedSeats.add(source);
+    }
+
+    public void addChangeListener(SeatChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void releaseOnRollback(Long eventId, LocalDateTime showDate, List<Seat> seats) {
+        ShowKey key = new ShowKey(eventId, showDate);
+        ShowSeats show = shows.get(key);
+        if (show == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(key, show, seats);
+                }
+            }
+        });
+    }
+
+    private void release(ShowKey key, ShowSeats show, Collection<Seat> seats) {
+        if (show.release(seats)) {
+            notifyListeners(key, show, false, seats);
+        }
+    }
+
+    private void notifyListeners(ShowKey key, ShowSeats show, boolean taken, Collection<Seat> seats) {
+        for (SeatChangeListener listener : changeListeners) {
+            try {
+                listener.onSeatsChanged(key, taken, seats, show.getVersion());
+            } catch (RuntimeException e) {
+                log.warn("Seat change listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private ShowSeats hydrate(ShowKey key) {
+        Map<Long, SectionGrid> grids = SectionGrid.forSections(
+                eventSectionRepository.findByEventIdOrderByIdAsc(key.eventId()), objectMapper);
+        ShowSeats show = new ShowSeats(grids);
+
+        List<TicketRepository.SeatCoordinates> taken = ticketRepository.findTakenSeats(key.eventId(),
+                key.showDate());
+        for (TicketRepository.SeatCoordinates seat : taken) {
+            show.mark(seat.getSectionId(), seat.getRowNumber(), seat.getColNumber());
+        }
+        for (Function<ShowKey, Collection<Seat>> source : retainedSeats) {
+            source.apply(key).forEach(seat -> show.mark(seat.sectionId(), seat.row(), seat.col()));
+        }
+        log.debug("Hydrated seat inventory for event {} at {}: {} seats taken", key.eventId(), key.showDate(),
+                taken.size());
+        return show;
+    }
+
+    /**
+     * Binary form of a seat availability snapshot, all integers big-endian:
+     * version (long), section count (int), then per section: section id (long),
+     * rows (int), cols (int), bitset length (int) and the bitset bytes.
+     */
+    public static byte[] toBinary(SeatAvailabilityDto availability) {
+        int size = Long.BYTES + Integer.BYTES;
+        for (SeatAvailabilityDto.SectionAvailability section : availability.getSections()) {
+            size += Long.BYTES + 3 * Integer.BYTES + section.getTaken().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(availability.getVersion());
+        buffer.putInt(availability.getSections().size());
+        for (SeatAvailabilityDto.SectionAvailability section : availability.getSections()) {
+            buffer.putLong(section.getSectionId());
+            buffer.putInt(section.getRows());
+            buffer.putInt(section.getCols());
+            buffer.putInt(section.getTaken().length);
+            buffer.put(section.getTaken());
+        }
+        return buffer.array();
+    }
+
+    public static final class ShowSeats {
+
+        // Versions are unique across shows and rebuilds, so a client can never see an
+        // old version number reused for different content
+        private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis() * 1000);
+
+        private final Map<Long, SectionGrid> grids;
+        private final Map<Long, AtomicLongArray> taken = new ConcurrentHashMap<>();
+        // Taken-seat count per section, maintained as bits flip so remaining seats never need a scan
+        private final Map<Long, LongAdder> takenCounts = new ConcurrentHashMap<>();
+        private volatile long version = VERSIONS.incrementAndGet();
+        // System.nanoTime() of the last reconcile against the tickets table, 0 before the first
+        private volatile long reconciledAt;
+
+        ShowSeats(Map<Long, SectionGrid> grids) {
+            this.grids = grids;
+            grids.forEach((id, grid) -> {
+                taken.put(id, new AtomicLongArray((grid.size() + 63) >>> 6));
+                takenCounts.put(id, new LongAdder());
+            });
+        }
+
+        public int remaining(Long sectionId) {
+            SectionGrid grid = grids.get(sectionId);
+            if (grid == null) {
+                return 0;
+            }
+            return (int) Math.max(grid.capacity() - takenCounts.get(sectionId).sum(), 0);
+        }
+
+        public boolean isSoldOut() {
+            return grids.keySet().stream().allMatch(id -> remaining(id) == 0);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public synchronized SeatAvailabilityDto snapshot(Long eventId, LocalDateTime showDate) {
+            List<SeatAvailabilityDto.SectionAvailability> sections = new ArrayList<>();
+            grids.values().stream()
+                    .sorted(Comparator.comparing(SectionGrid::getSectionId))
+                    .forEach(grid -> sections.add(SeatAvailabilityDto.SectionAvailability.builder()
+                            .sectionId(grid.getSectionId())
+                            .name(grid.getName())
+                            .rows(grid.getRows())
+                            .cols(grid.getCols())
+                            .capacity(grid.capacity())
+                            .remaining(remaining(grid.getSectionId()))
+                            .taken(toBytes(taken.get(grid.getSectionId()), grid.size()))
+                            .build()));
+            return SeatAvailabilityDto.builder()
+                    .eventId(eventId)
+                    .showDate(showDate)
+                    .version(version)
+                    .sections(sections)
+                    .build();
+        }
+
+        public Map<Long, SectionGrid> getGrids() {
+            return grids;
+        }
+
+        public SectionGrid grid(Long sectionId) {
+            return grids.get(sectionId);
+        }
+
+        public boolean isTaken(Long sectionId, int row, int col) {
+            SectionGrid grid = grids.get(sectionId);
+            if (grid == null || !grid.isSeat(row, col)) {
+                return false;
+            }
+            return isTaken(taken.get(sectionId), grid.index(row, col));
+        }
+
+        public List<String> takenLabels() {
+            List<String> labels = new ArrayList<>();
+            grids.forEach((id, grid) -> {
+                AtomicLongArray bits = taken.get(id);
+                for (int i = 0; i < grid.size(); i++) {
+                    if (isTaken(bits, i)) {
+                        labels.add(grid.label(grid.rowOf(i), grid.colOf(i)));
+                    }
+                }
+            });
+            return labels;
+        }
+
+        List<Seat> takenSeats(Collection<Long> sectionIds) {
+            List<Seat> seats = new ArrayList<>();
+            for (Long sectionId : sectionIds) {
+                SectionGrid grid = grids.get(sectionId);
+                if (grid == null) {
+                    continue;
+                }
+                AtomicLongArray bits = taken.get(sectionId);
+                for (int i = 0; i < grid.size(); i++) {
+                    if (isTaken(bits, i)) {
+                        seats.add(new Seat(sectionId, grid.rowOf(i), grid.colOf(i)));
+                    }
+                }
+            }
+            return seats;
+        }
+
+        synchronized List<Seat> tryClaim(List<Seat> seats) {
+            List<Seat> conflicts = new ArrayList<>();
+            Set<Seat> requested = new HashSet<>();
+            for (Seat seat : seats) {
+                SectionGrid grid = grids.get(seat.sectionId());
+                if (grid == null) {
+                    throw new BadRequestException("Section " + seat.sectionId() + " does not belong to this event.");
+                }
+                if (!grid.isSeat(seat.row(), seat.col())) {
+                    throw new BadRequestException("Invalid seat: " + grid.getName() + " Row " + seat.row()
+                            + " Col " + seat.col());
+                }
+                if (!requested.add(seat) || isTaken(taken.get(seat.sectionId()), grid.index(seat.row(), seat.col()))) {
+                    conflicts.add(seat);
+                }
+            }
+            if (conflicts.isEmpty() && !seats.isEmpty()) {
+                seats.forEach(seat -> mark(seat.sectionId(), seat.row(), seat.col()));
+                version = VERSIONS.incrementAndGet();
+            }
+            return conflicts;
+        }
+
+        synchronized List<Seat> claimBestAvailable(Long sectionId, int quantity, Integer preferredRow) {
+            SectionGrid grid = grids.get(sectionId);
+            if (grid == null) {
+                throw new BadRequestException("Section " + sectionId + " does not belong to this event.");
+            }
+            AtomicLongArray bits = taken.get(sectionId);
+
+            // Rows that contain seats of this section; advanced layouts share one grid
+            int firstRow = 0;
+            int lastRow = 0;
+            for (int row = 1; row <= grid.getRows(); row++) {
+                for (int col = 1; col <= grid.getCols(); col++) {
+                    if (grid.isSeat(row, col)) {
+                        firstRow = firstRow == 0 ? row : firstRow;
+                        lastRow = row;
+                        break;
+                    }
+                }
+            }
+            if (firstRow == 0) {
+                return new ArrayList<>();
+            }
+            int targetRow = preferredRow != null
+                    ? Math.max(firstRow, Math.min(lastRow, preferredRow))
+                    : (firstRow + lastRow) / 2;
+
+            // Walk rows outwards from the target row; the first row with a fit wins
+            for (int distance = 0; targetRow - distance >= firstRow || targetRow + distance <= lastRow; distance++) {
+                for (int row : distance == 0 ? new int[]{targetRow} : new int[]{targetRow + distance, targetRow - distance}) {
+                    if (row < firstRow || row > lastRow) {
+                        continue;
+                    }
+                    int start = bestRunStart(grid, bits, row, quantity);
+                    if (start > 0) {
+                        List<Seat> seats = new ArrayList<>(quantity);
+                        for (int col = start; col < start + quantity; col++) {
+                            seats.add(new Seat(sectionId, row, col));
+                            mark(sectionId, row, col);
+                        }
+                        version = VERSIONS.incrementAndGet();
+                        return seats;
+                    }
+                }
+            }
+            return new ArrayList<>();
+        }
+
+        // First column of the free run of the given length closest to the row's centre, or 0
+        private static int bestRunStart(SectionGrid grid, AtomicLongArray bits, int row, int quantity) {
+            double centre = (grid.getCols() + 1) / 2.0;
+            int best = 0;
+            double bestOffset = Double.MAX_VALUE;
+            int runStart = 0;
+            for (int col = 1; col <= grid.getCols() + 1; col++) {
+                boolean free = col <= grid.getCols() && grid.isSeat(row, col)
+                        && !isTaken(bits, grid.index(row, col));
+                if (free) {
+                    runStart = runStart == 0 ? col : runStart;
+                    continue;
+                }
+                if (runStart != 0 && col - runStart >= quantity) {
+                    // Slide the window within the run as close to the centre as it goes
+                    int ideal = (int) Math.round(centre - (quantity - 1) / 2.0);
+                    int start = Math.max(runStart, Math.min(col - quantity, ideal));
+                    double offset = Math.abs(start + (quantity - 1) / 2.0 - centre);
+                    if (offset < bestOffset) {
+                        best = start;
+                        bestOffset = offset;
+                    }
+                }
+                runStart = 0;
+            }
+            return best;
+        }
+
+        synchronized boolean release(Collection<Seat> seats) {
+            boolean changed = false;
+            for (Seat seat : seats) {
+                SectionGrid grid = grids.get(seat.sectionId());
+                if (grid != null && grid.isSeat(seat.row(), seat.col())) {
+                    int index = grid.index(seat.row(), seat.col());
+                    AtomicLongArray bits = taken.get(seat.sectionId());
+                    long previous = bits.getAndUpdate(index >>> 6, word -> word & ~(1L << index));
+                    if ((previous & (1L << index)) != 0) {
+                        takenCounts.get(seat.sectionId()).decrement();
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                version = VERSIONS.incrementAndGet();
+            }
+            return changed;
+        }
+
+        private void mark(Long sectionId, int row, int col) {
+            SectionGrid grid = grids.get(sectionId);
+            if (grid == null || !grid.isSeat(row, col)) {
+                return;
+            }
+            int index = grid.index(row, col);
+            long previous = taken.get(sectionId).getAndUpdate(index >>> 6, word -> word | (1L << index));
+            if ((previous & (1L << index)) == 0) {
+                takenCounts.get(sectionId).increment();
+            }
+        }
+
+        private static byte[] toBytes(AtomicLongArray bits, int size) {
+            byte[] bytes = new byte[(size + 7) >>> 3];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) (bits.get(i >>> 3) >>> ((i & 7) << 3));
+            }
+            return bytes;
+        }
+
+        private static boolean isTaken(AtomicLongArray bits, int index) {
+            return (bits.get(index >>> 6) & (1L << index)) != 0;
+        }
+    }
+}
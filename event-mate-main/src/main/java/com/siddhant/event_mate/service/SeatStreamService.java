@@ -0,0 +1,357 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.dto.SeatAvailabilityDto;
+import com.siddhant.event_mate.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes live seat-map changes to Server-Sent Event subscribers. Each subscriber gets
+ * a "snapshot" event followed by "taken"/"released" deltas as bookings commit or seats
+ * are freed. A delta is serialized once per show on a dispatcher thread and queued to
+ * each subscriber, whose own writer task sends it, so neither booking threads nor other
+ * subscribers ever wait on a slow client. Deltas for one show always go through the
+ * same dispatcher and stay in order. A subscriber whose queue fills up has it replaced
+ * by one fresh snapshot; one that fills it again before that snapshot is out is closed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStreamService {
+
+    // Stands for a snapshot in a subscriber's queue (compared by identity); it is taken when it is sent
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> SNAPSHOT =
+            Collections.unmodifiableSet(new HashSet<>());
+
+    private final SeatInventoryService seatInventoryService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.seat-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${booking.seat-stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    // Streams one client (user, or address when anonymous) and one show may hold open
+    @Value("${booking.seat-stream.max-per-client:8}")
+    private int maxPerClient;
+
+    @Value("${booking.seat-stream.max-per-show:2000}")
+    private int maxPerShow;
+
+    @Value("${booking.seat-stream.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${booking.seat-stream.dispatch-queue:10000}")
+    private int dispatchQueue;
+
+    @Value("${booking.seat-stream.writer-threads:16}")
+    private int writerThreads;
+
+    // Frames queued for one subscriber before it is resynced with a snapshot
+    @Value("${booking.seat-stream.max-pending:256}")
+    private int maxPending;
+
+    private final ConcurrentMap<SeatInventoryService.ShowKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ConcurrentMap<String, Integer> clientStreams = new ConcurrentHashMap<>();
+    private ExecutorService[] dispatchers;
+    private ExecutorService writers;
+    private Counter resyncs;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        dispatchers = new ExecutorService[Math.max(dispatchThreads, 1)];
+        for (int i = 0; i < dispatchers.length; i++) {
+            dispatchers[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(dispatchQueue, 1)),
+                    Thread.ofPlatform().name("seat-stream-" + i).daemon(true).factory());
+        }
+        // At most one writer task per subscriber is queued, so this queue is bounded by maxSubscribers
+        writers = new ThreadPoolExecutor(Math.max(writerThreads, 1), Math.max(writerThreads, 1),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(Math.max(maxSubscribers, 1)),
+                Thread.ofPlatform().name("seat-stream-writer-", 0).daemon(true).factory());
+        resyncs = Counter.builder("booking.seat-stream.resyncs")
+                .description("Seat stream subscribers sent a fresh snapshot after falling behind")
+                .register(meterRegistry);
+        dropped = Counter.builder("booking.seat-stream.dropped")
+                .description("Seat stream subscribers closed for falling too far behind")
+                .register(meterRegistry);
+        seatInventoryService.addChangeListener(this::onSeatsChanged);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdownNow();
+        }
+        writers.shutdownNow();
+        subscribers.values().forEach(show -> show.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Opens a stream for the show. The client identifies the caller (user name, or
+     * remote address when anonymous) so one caller cannot take up every stream.
+     */
+    public SseEmitter subscribe(Long eventId, LocalDateTime showDate, String client) {
+        if (!acquireClient(client)) {
+            throw new TooManyRequestsException("Too many live seat maps open, please close one or poll instead.");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            releaseClient(client);
+            throw new TooManyRequestsException("Too many live seat map subscribers, please poll instead.");
+        }
+
+        SeatInventoryService.ShowKey key = new SeatInventoryService.ShowKey(eventId, showDate);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(key, client, emitter);
+        boolean[] added = {false};
+        subscribers.compute(key, (k, show) -> {
+            Set<Subscriber> set = show != null ? show : ConcurrentHashMap.<Subscriber>newKeySet();
+            if (set.size() < maxPerShow) {
+                added[0] = set.add(subscriber);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+            releaseClient(client);
+            throw new TooManyRequestsException(
+                    "Too many live seat map subscribers for this show, please poll instead.");
+        }
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // The snapshot is queued ahead of any delta and taken when it is sent;
+        // clients drop deltas whose version is not newer than the snapshot's
+        subscriber.resync();
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(show -> show.forEach(subscriber -> subscriber.ping(ping)));
+    }
+
+    private void onSeatsChanged(SeatInventoryService.ShowKey key, boolean taken,
+                                Collection<SeatInventoryService.Seat> seats, long version) {
+        Set<Subscriber> show = subscribers.get(key);
+        if (show == null || show.isEmpty()) {
+            return;
+        }
+        try {
+            dispatcherFor(key).execute(() -> {
+                SeatAvailabilityDto.SeatChange change = SeatAvailabilityDto.SeatChange.builder()
+                        .version(version)
+                        .status(taken ? "taken" : "released")
+                        .seats(seats.stream()
+                                .map(seat -> new SeatAvailabilityDto.SeatRef(seat.sectionId(), seat.row(), seat.col()))
+                                .collect(Collectors.toList()))
+                        .build();
+                try {
+                    String json = objectMapper.writeValueAsString(change);
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().name(change.getStatus())
+                            .data(json, MediaType.APPLICATION_JSON).build();
+                    show.forEach(subscriber -> subscriber.offer(frame));
+                } catch (JsonProcessingException e) {
+                    log.warn("Could not serialize seat change: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The delta is lost, so everyone on the show starts over from a snapshot
+            show.forEach(Subscriber::resync);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (k, show) -> {
+            if (show.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                releaseClient(subscriber.client);
+            }
+            return show.isEmpty() ? null : show;
+        });
+    }
+
+    private boolean acquireClient(String client) {
+        boolean[] acquired = {false};
+        clientStreams.compute(client, (k, open) -> {
+            int held = open != null ? open : 0;
+            if (held >= maxPerClient) {
+                return open;
+            }
+            acquired[0] = true;
+            return held + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseClient(String client) {
+        clientStreams.computeIfPresent(client, (k, open) -> open > 1 ? open - 1 : null);
+    }
+
+    private ExecutorService dispatcherFor(SeatInventoryService.ShowKey key) {
+        int hash = key.hashCode();
+        return dispatchers[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % dispatchers.length];
+    }
+
+    // One client's outbox; frames are sent by at most one writer task at a time
+    private final class Subscriber {
+        private final SeatInventoryService.ShowKey key;
+        private final String client;
+        private final SseEmitter emitter;
+
+        // All guarded by this; resyncing is set from queueing a snapshot until it is sent
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ArrayDeque<>();
+        private boolean resyncing;
+        private boolean writing;
+        private boolean closed;
+
+        Subscriber(SeatInventoryService.ShowKey key, String client, SseEmitter emitter) {
+            this.key = key;
+            this.client = client;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            boolean fellBehind;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                fellBehind = pending.size() >= maxPending && resyncing;
+                if (!fellBehind && pending.size() >= maxPending) {
+                    // Everything queued so far is in a snapshot taken now, so this frame is too
+                    pending.clear();
+                    pending.add(SNAPSHOT);
+                    resyncing = true;
+                    resyncs.increment();
+                } else if (!fellBehind) {
+                    pending.add(frame);
+                }
+            }
+            if (fellBehind) {
+                dropped.increment();
+                close(null);
+            } else {
+                schedule();
+            }
+        }
+
+        void resync() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pending.clear();
+                pending.add(SNAPSHOT);
+                resyncing = true;
+            }
+            schedule();
+        }
+
+        // Only to an idle subscriber; a busy one is evidently still connected
+        void ping(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            synchronized (this) {
+                if (closed || writing || !pending.isEmpty()) {
+                    return;
+                }
+                pending.add(frame);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (writing || closed || pending.isEmpty()) {
+                    return;
+                }
+                writing = true;
+            }
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close(null);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = closed ? null : pending.poll();
+                    if (frame == null) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    if (frame == SNAPSHOT) {
+                        SeatAvailabilityDto snapshot = seatInventoryService.getShow(key.eventId(), key.showDate())
+                                .snapshot(key.eventId(), key.showDate());
+                        emitter.send(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+                        synchronized (this) {
+                            resyncing = pending.stream().anyMatch(queued -> queued == SNAPSHOT);
+                        }
+                    } else {
+                        emitter.send(frame);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    close(e);
+                    return;
+                }
+            }
+        }
+
+        private void close(Throwable error) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            unsubscribe(this);
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
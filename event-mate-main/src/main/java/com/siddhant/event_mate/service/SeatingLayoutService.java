@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -13,8 +14,14 @@ public class SeatingLayoutService {
 
     private final SeatingLayoutRepository repository;
 
+    // Bumped after every write; seeded from the clock so ETags never repeat across restarts
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final LastModified lastModified = new LastModified();
+
     public SeatingLayout createLayout(SeatingLayout layout) {
-        return repository.save(java.util.Objects.requireNonNull(layout));
+        SeatingLayout saved = repository.save(java.util.Objects.requireNonNull(layout));
+        changed();
+        return saved;
     }
 
     public List<SeatingLayout> getAllLayouts() {
@@ -28,5 +35,19 @@ public class SeatingLayoutService {
 
     public void deleteLayout(Long id) {
         repository.deleteById(java.util.Objects.requireNonNull(id));
+        changed();
+    }
+
+    public String getTag() {
+        return Long.toString(version.get());
+    }
+
+    public long getLastModified() {
+        return lastModified.get();
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+        lastModified.touch();
     }
 }
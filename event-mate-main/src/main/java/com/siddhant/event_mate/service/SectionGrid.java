@@ -0,0 +1,164 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.EventSection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat geometry of one event section. Rows and columns are 1-based, matching the
+ * "Section-Row-Col" labels the booking page sends.
+ *
+ * Legacy sections are a plain rows x cols block. Sections created from an
+ * "advanced" layout have rows = cols = 0 and share the unified grid stored in the
+ * first section's layoutConfig; their seats are the non-gap cells of their tier.
+ */
+@Slf4j
+public final class SectionGrid {
+
+    private final Long sectionId;
+    private final String name;
+    private final int rows;
+    private final int cols;
+    private final BitSet seats;
+
+    private SectionGrid(Long sectionId, String name, int rows, int cols, BitSet seats) {
+        this.sectionId = sectionId;
+        this.name = name;
+        this.rows = rows;
+        this.cols = cols;
+        this.seats = seats;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // Number of cells in the bitmap (gaps and other tiers included)
+    public int size() {
+        return rows * cols;
+    }
+
+    // Number of bookable seats in this section
+    public int capacity() {
+        return seats.cardinality();
+    }
+
+    public int index(int row, int col) {
+        return (row - 1) * cols + (col - 1);
+    }
+
+    public int rowOf(int index) {
+        return index / cols + 1;
+    }
+
+    public int colOf(int index) {
+        return index % cols + 1;
+    }
+
+    public boolean isSeat(int row, int col) {
+        return row >= 1 && row <= rows && col >= 1 && col <= cols && seats.get(index(row, col));
+    }
+
+    public boolean isSeat(int index) {
+        return seats.get(index);
+    }
+
+    public String label(int row, int col) {
+        return name + "-" + row + "-" + col;
+    }
+
+    public static Map<Long, SectionGrid> forSections(List<EventSection> sections, ObjectMapper objectMapper) {
+        Map<Long, SectionGrid> grids = new HashMap<>();
+        if (sections == null || sections.isEmpty()) {
+            return grids;
+        }
+
+        JsonNode advanced = findAdvancedConfig(sections, objectMapper);
+        for (EventSection section : sections) {
+            SectionGrid grid = advanced != null
+                    ? fromAdvanced(section, advanced)
+                    : fromBlock(section);
+            grids.put(section.getId(), grid);
+        }
+        return grids;
+    }
+
+    private static SectionGrid fromBlock(EventSection section) {
+        int rows = Math.max(section.getRows(), 0);
+        int cols = Math.max(section.getCols(), 0);
+        BitSet seats = new BitSet(rows * cols);
+        seats.set(0, rows * cols);
+        return new SectionGrid(section.getId(), section.getName(), rows, cols, seats);
+    }
+
+    private static SectionGrid fromAdvanced(EventSection section, JsonNode config) {
+        JsonNode grid = config.path("grid");
+        JsonNode tiers = config.path("tiers");
+        int rows = grid.size();
+        int cols = 0;
+        for (JsonNode row : grid) {
+            cols = Math.max(cols, row.size());
+        }
+
+        BitSet seats = new BitSet(rows * cols);
+        for (int r = 0; r < rows; r++) {
+            JsonNode row = grid.get(r);
+            for (int c = 0; c < row.size(); c++) {
+                JsonNode cell = row.get(c);
+                boolean gap = cell.path("g").asInt(0) == 1 || "gap".equals(cell.path("type").asText());
+                if (!gap && section.getName().equals(tierName(tiers, cell))) {
+                    seats.set(r * cols + c);
+                }
+            }
+        }
+        return new SectionGrid(section.getId(), section.getName(), rows, cols, seats);
+    }
+
+    // Same lookup as the booking page: cell.t || cell.tierId, falling back to the first tier
+    private static String tierName(JsonNode tiers, JsonNode cell) {
+        String tierId = cell.path("t").asText("");
+        if (tierId.isEmpty()) {
+            tierId = cell.path("tierId").asText("");
+        }
+        for (JsonNode tier : tiers) {
+            if (tier.path("id").asText().equals(tierId)) {
+                return tier.path("name").asText();
+            }
+        }
+        return tiers.size() > 0 ? tiers.get(0).path("name").asText() : null;
+    }
+
+    private static JsonNode findAdvancedConfig(List<EventSection> sections, ObjectMapper objectMapper) {
+        EventSection first = sections.get(0);
+        if (first.getLayoutConfig() == null || first.getLayoutConfig().isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode config = objectMapper.readTree(first.getLayoutConfig());
+            if ("advanced".equals(config.path("strategy").asText()) && config.path("grid").isArray()) {
+                return config;
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable layoutConfig on section {}: {}", first.getId(), e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,5 @@
+-- Flyway Migration V3: Pending booking reaper
+-- Purpose: Let the reaper walk stale PENDING bookings in (booking_date, id) order
+--          without scanning the whole bookings table
+
+CREATE INDEX idx_bookings_status_date ON bookings(payment_status, booking_date, id);
@@ -0,0 +1,14 @@
+-- Flyway Migration V4: Idempotency keys
+-- Purpose: Store responses of booking and payment requests by Idempotency-Key so
+--          client retries are answered without running the request again
+
+CREATE TABLE idempotency_keys (
+    id VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,5 @@
+-- Flyway Migration V5: Booking listing read model
+-- Purpose: Serve "my bookings" pages (user_id = ? AND id < cursor ORDER BY id DESC)
+--          straight from an index
+
+CREATE INDEX idx_bookings_user_id_id ON bookings(user_id, id);
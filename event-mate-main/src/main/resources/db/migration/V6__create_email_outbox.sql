@@ -0,0 +1,19 @@
+-- Flyway Migration V6: Email outbox
+-- Purpose: Emails are written here in the same transaction as the change that
+--          triggers them and delivered after commit by the outbox dispatcher
+
+CREATE TABLE email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP
+);
+
+-- Dispatcher polls due PENDING messages in next_attempt_at order
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox(status, next_attempt_at);
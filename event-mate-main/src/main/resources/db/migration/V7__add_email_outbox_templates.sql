@@ -0,0 +1,10 @@
+-- Flyway Migration V7: Templated outbox emails
+-- Purpose: Store the template name, model and locale so emails are rendered by
+--          the dispatcher instead of inside the request transaction
+
+ALTER TABLE email_outbox
+ALTER COLUMN subject DROP NOT NULL,
+ALTER COLUMN body DROP NOT NULL,
+ADD COLUMN template VARCHAR(255),
+ADD COLUMN template_model TEXT,
+ADD COLUMN locale VARCHAR(35);
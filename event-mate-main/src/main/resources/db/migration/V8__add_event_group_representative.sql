@@ -0,0 +1,18 @@
+-- Flyway Migration V8: Materialized group representatives
+-- Purpose: Mark each group's catalog card (its lowest id; ungrouped events are their own
+--          card) instead of computing MIN(id) GROUP BY group_id on every listing, so
+--          catalog pages become range scans of small partial indexes
+
+ALTER TABLE events ADD COLUMN group_representative BOOLEAN NOT NULL DEFAULT TRUE;
+
+UPDATE events e SET group_representative = FALSE
+WHERE e.group_id IS NOT NULL
+  AND e.id <> (SELECT MIN(e2.id) FROM events e2 WHERE e2.group_id = e.group_id);
+
+-- Serves the per-group MIN(id) when a write refreshes a group, and group lookups
+CREATE INDEX idx_events_group_id_id ON events(group_id, id);
+
+CREATE INDEX idx_events_catalog_date ON events(start_date, id) WHERE group_representative;
+CREATE INDEX idx_events_catalog_title ON events(title, id) WHERE group_representative;
+CREATE INDEX idx_events_catalog_category_date ON events(category, start_date, id) WHERE group_representative;
+CREATE INDEX idx_events_catalog_category_title ON events(category, title, id) WHERE group_representative;
@@ -0,0 +1,21 @@
+-- Flyway Migration V9: One live ticket per seat and show
+-- Purpose: The in-memory seat inventory and the allocation locks only serialize bookings
+--          within one instance. Copy the show date onto tickets so the database itself
+--          rejects a second BOOKED/USED ticket for the same seat of the same show.
+
+ALTER TABLE tickets ADD COLUMN show_date TIMESTAMP;
+
+UPDATE tickets t SET show_date = b.show_date
+FROM bookings b
+WHERE b.id = t.booking_id;
+
+-- Fails if seats were already sold twice; find them with
+--   SELECT section_id, show_date, row_number, col_number FROM tickets WHERE status <> 'CANCELLED'
+--   GROUP BY 1, 2, 3, 4 HAVING COUNT(*) > 1;
+-- and cancel the extra tickets before re-running.
+CREATE UNIQUE INDEX idx_tickets_show_seat
+ON tickets(section_id, show_date, row_number, col_number)
+WHERE status <> 'CANCELLED';
+
+-- Keyed by booking_id, so it never kept two bookings off the same seat
+DROP INDEX IF EXISTS idx_unique_seat_booking;
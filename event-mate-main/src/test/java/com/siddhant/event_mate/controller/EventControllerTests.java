@@ -0,0 +1,84 @@
+package com.siddhant.event_mate.controller;
+
+import com.siddhant.event_mate.dto.EventDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import com.siddhant.event_mate.service.EventFacetIndex;
+import com.siddhant.event_mate.service.EventSearchIndex;
+import com.siddhant.event_mate.service.EventService;
+import com.siddhant.event_mate.service.EventSuggestIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EventControllerTests {
+
+    private final EventService eventService = mock(EventService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new EventController(eventService,
+            mock(EventSearchIndex.class), mock(EventSuggestIndex.class), mock(EventFacetIndex.class))).build();
+
+    @Test
+    void catalogListIsNotModifiedWhileTheCatalogVersionIsUnchanged() throws Exception {
+        when(eventService.getCatalogTag()).thenReturn("1700000000000001");
+        when(eventService.getCatalogLastModified()).thenReturn(1_700_000_000_000L);
+        when(eventService.getEventSummaries(any(), any(), any(), anyInt())).thenReturn(EventSummaryDto.Page.builder()
+                .events(List.of(EventSummaryDto.builder().id(1L).title("Event 1").build()))
+                .build());
+
+        mvc.perform(get("/api/events").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1700000000000001\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        mvc.perform(get("/api/events").param("limit", "20").header("If-None-Match", "\"1700000000000001\""))
+                .andExpect(status().isNotModified());
+        // The 304 never built the page
+        verify(eventService, times(1)).getEventSummaries(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void catalogWithoutPagingParamsKeepsTheFullEventShape() throws Exception {
+        when(eventService.getCatalogTag()).thenReturn("1700000000000001");
+        when(eventService.getCatalogLastModified()).thenReturn(1_700_000_000_000L);
+        when(eventService.getUniqueEvents(null)).thenReturn(List.of(
+                EventDto.builder().id(1L).title("Event 1").description("Featured").build()));
+        when(eventService.getUniqueEvents("Movie")).thenReturn(List.of());
+
+        mvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].description").value("Featured"));
+        mvc.perform(get("/api/events/search").param("category", "Movie"))
+                .andExpect(status().isOk());
+
+        verify(eventService).getUniqueEvents("Movie");
+        verify(eventService, never()).getEventSummaries(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void eventDetailIsServedAgainOnceItsTagMoves() throws Exception {
+        when(eventService.getEventTag(7L, null)).thenReturn("1700000000000002");
+        when(eventService.getCatalogLastModified()).thenReturn(1_700_000_000_000L);
+
+        mvc.perform(get("/api/events/7").header("If-None-Match", "\"1700000000000001\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1700000000000002\""));
+        mvc.perform(get("/api/events/7").header("If-None-Match", "\"1700000000000002\""))
+                .andExpect(status().isNotModified());
+        verify(eventService, times(1)).getEventById(7L);
+        verify(eventService, never()).getEventById(any(), any());
+    }
+}
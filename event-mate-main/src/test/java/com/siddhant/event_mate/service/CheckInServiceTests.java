@@ -0,0 +1,142 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.dto.CheckInDto;
+import com.siddhant.event_mate.entity.Event;
+import com.siddhant.event_mate.entity.EventSection;
+import com.siddhant.event_mate.entity.Role;
+import com.siddhant.event_mate.entity.User;
+import com.siddhant.event_mate.exception.BadRequestException;
+import com.siddhant.event_mate.exception.ForbiddenException;
+import com.siddhant.event_mate.repository.BookingRepository;
+import com.siddhant.event_mate.repository.EventRepository;
+import com.siddhant.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CheckInServiceTests {
+
+    private static final LocalDateTime SHOW = LocalDateTime.of(2026, 11, 20, 19, 30);
+
+    private CheckInService service;
+    private SeatInventoryService inventory;
+    private TicketRepository tickets;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        EventSection section = EventSection.builder().id(7L).name("Gold").price(BigDecimal.TEN).rows(5).cols(10).build();
+        inventory = mock(SeatInventoryService.class);
+        when(inventory.getShow(1L, SHOW)).thenReturn(new SeatInventoryService.ShowSeats(
+                SectionGrid.forSections(List.of(section), new ObjectMapper())));
+        EventRepository events = mock(EventRepository.class);
+        when(events.findById(1L)).thenReturn(Optional.of(Event.builder().id(1L)
+                .startDate(SHOW.toLocalDate()).endDate(SHOW.toLocalDate().plusDays(1))
+                .showTimes(List.of(SHOW.toLocalTime()))
+                .organizer(User.builder().id(99L).build()).build()));
+        tickets = mock(TicketRepository.class);
+        when(tickets.findSeatCoordinatesByStatus(any(), any(), any())).thenReturn(List.of());
+
+        service = new CheckInService(tickets, mock(BookingRepository.class), events, inventory,
+                mock(PlatformTransactionManager.class), registry,
+                Base64.getEncoder().encodeToString("a-test-secret-that-is-long-enough".getBytes()));
+        ReflectionTestUtils.setField(service, "maxScanBatch", 100);
+        ReflectionTestUtils.setField(service, "flushBatchSize", 100);
+
+        signIn(User.builder().id(1L).email("admin@eventmate.test").role(Role.ADMIN).build());
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String token(long ticketId, LocalDateTime show, int row, int col) {
+        return service.issueToken(new CheckInService.TicketToken(ticketId,
+                new SeatInventoryService.ShowKey(1L, show), 7L, row, col));
+    }
+
+    @Test
+    void tokenRoundTripsAndRejectsTampering() {
+        String token = token(42L, SHOW, 2, 3);
+
+        CheckInService.TicketToken decoded = service.decode(token);
+        assertEquals(42L, decoded.ticketId());
+        assertEquals(new SeatInventoryService.ShowKey(1L, SHOW), decoded.show());
+        assertEquals(2, decoded.row());
+        assertEquals(3, decoded.col());
+
+        char[] forged = token.toCharArray();
+        forged[5] = forged[5] == 'A' ? 'B' : 'A';
+        assertNull(service.decode(new String(forged)));
+        assertNull(service.decode("not a token"));
+    }
+
+    @Test
+    void admitsEachTicketOnce() {
+        String first = token(42L, SHOW, 2, 3);
+        String second = token(43L, SHOW, 2, 4);
+
+        List<CheckInDto.ScanResult> results = service.scan(1L, SHOW,
+                List.of(first, second, first, token(44L, SHOW.plusDays(1), 1, 1), "garbage"));
+
+        assertEquals(List.of(CheckInDto.ScanOutcome.ADMITTED, CheckInDto.ScanOutcome.ADMITTED,
+                        CheckInDto.ScanOutcome.ALREADY_CHECKED_IN, CheckInDto.ScanOutcome.WRONG_SHOW,
+                        CheckInDto.ScanOutcome.INVALID),
+                results.stream().map(CheckInDto.ScanResult::getOutcome).toList());
+        assertEquals("Gold-2-3", results.get(0).getSeat());
+    }
+
+    @Test
+    void rejectsOtherUsersAndUnscheduledShowsBeforeLoadingAnything() {
+        signIn(User.builder().id(5L).email("fan@eventmate.test").role(Role.CUSTOMER).build());
+        assertThrows(ForbiddenException.class, () -> service.scan(1L, SHOW, List.of(token(42L, SHOW, 2, 3))));
+
+        signIn(User.builder().id(99L).email("organizer@eventmate.test").role(Role.CUSTOMER).build());
+        LocalDateTime unscheduled = SHOW.plusDays(30);
+        assertThrows(BadRequestException.class,
+                () -> service.scan(1L, unscheduled, List.of(token(42L, unscheduled, 2, 3))));
+        verify(inventory, never()).getShow(any(), any());
+
+        assertEquals(CheckInDto.ScanOutcome.ADMITTED,
+                service.scan(1L, SHOW, List.of(token(42L, SHOW, 2, 3))).get(0).getOutcome());
+    }
+
+    @Test
+    void countsAdmissionsTheDatabaseHadAlreadyRecorded() {
+        // Ticket 43 was admitted through another instance first
+        when(tickets.updateStatusByIds(any(), any(), any())).thenReturn(1);
+        service.scan(1L, SHOW, List.of(token(42L, SHOW, 2, 3), token(43L, SHOW, 2, 4)));
+
+        service.flush();
+
+        assertEquals(1.0, registry.get("checkin.flushed").counter().count());
+        assertEquals(1.0, registry.get("checkin.duplicate").counter().count());
+    }
+}
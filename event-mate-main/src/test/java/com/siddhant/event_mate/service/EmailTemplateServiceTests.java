@@ -0,0 +1,42 @@
+package com.siddhant.event_mate.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateServiceTests {
+
+    @Test
+    void rendersTextAndEscapedHtmlWithLocaleFallback() throws Exception {
+        EmailTemplateService templates = new EmailTemplateService();
+        templates.compileAll();
+
+        EmailTemplateService.RenderedEmail email = templates.render("booking-confirmation", Locale.CANADA_FRENCH,
+                Map.of("name", "Ann <Admin>", "eventTitle", "Dune", "bookingId", 7, "showDate", "2025-01-01T18:00",
+                        "venue", "Hall 1", "seats", List.of("Gold-1-1", "Gold-1-2"), "totalAmount", "20.00"));
+
+        assertEquals("Booking Confirmation - Dune", email.subject());
+        assertTrue(email.text().startsWith("Hi Ann <Admin>,"));
+        assertTrue(email.text().contains("Seats: Gold-1-1, Gold-1-2\n"));
+        assertTrue(email.html().contains("Hi Ann &lt;Admin&gt;,"));
+    }
+
+    @Test
+    void textOnlyTemplatesHaveNoHtml() throws Exception {
+        EmailTemplateService templates = new EmailTemplateService();
+        templates.compileAll();
+
+        EmailTemplateService.RenderedEmail email = templates.render("login-otp", null,
+                Map.of("otp", "123456", "validMinutes", 10));
+
+        assertEquals("Your Login OTP", email.subject());
+        assertEquals("Your OTP for Event Mate login is: 123456\nIt expires in 10 minutes.", email.text());
+        assertNull(email.html());
+    }
+}
@@ -0,0 +1,131 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class EventCatalogCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventCatalogCache cache = new EventCatalogCache(mock(PlatformTransactionManager.class),
+            registry, 16, 16, 300);
+
+    private static EventDto event(long id, String category) {
+        return EventDto.builder().id(id).title("Event " + id).category(category).build();
+    }
+
+    private static EventSummaryDto.Page page(long id, String category) {
+        return EventSummaryDto.Page.builder()
+                .events(List.of(EventSummaryDto.builder().id(id).title("Event " + id).category(category).build()))
+                .build();
+    }
+
+    private static EventCatalogCache.ListKey key(String category) {
+        return new EventCatalogCache.ListKey(category, "DATE", null, 100);
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCacheAndReportsHitRatio() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            cache.getSummaries(key("Movie"), () -> {
+                loads.incrementAndGet();
+                return page(1, "Movie");
+            });
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0.75, registry.get("events.catalog.cache.hit.ratio").tag("region", "lists").gauge().value());
+    }
+
+    @Test
+    void invalidatesOnlyTheAffectedEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getSummaries(key("Movie"), () -> page(1, "Movie"));
+        cache.getSummaries(key("Concert"), () -> page(2, "Concert"));
+        cache.getEvent(1L, () -> event(1, "Movie"));
+        cache.getEvent(2L, () -> event(2, "Concert"));
+
+        cache.invalidate(1L, List.of("Movie"));
+
+        cache.getSummaries(key("Movie"), () -> {
+            loads.incrementAndGet();
+            return page(1, "Movie");
+        });
+        cache.getEvent(1L, () -> {
+            loads.incrementAndGet();
+            return event(1, "Movie");
+        });
+        cache.getSummaries(key("Concert"), () -> {
+            loads.incrementAndGet();
+            return page(2, "Concert");
+        });
+        cache.getEvent(2L, () -> {
+            loads.incrementAndGet();
+            return event(2, "Concert");
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheLoadThatRacedAnInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getSummaries(key(null), () -> {
+            loads.incrementAndGet();
+            cache.invalidate(3L, List.of("Comedy"));
+            return page(3, "Comedy");
+        });
+        cache.getSummaries(key(null), () -> {
+            loads.incrementAndGet();
+            return page(3, "Comedy");
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void movesLastModifiedToALaterSecondOnlyOnceTheWriteCommits() {
+        long before = cache.getLastModified();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L, List.of("Movie"));
+            assertEquals(before, cache.getLastModified());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        long after = cache.getLastModified();
+        assertEquals(0, after % 1000);
+        assertTrue(after / 1000 > before / 1000);
+    }
+
+    @Test
+    void movesTheValidatorsWhenAReloadFindsContentChangedElsewhere() {
+        // Entries expire at once, so every lookup reloads
+        EventCatalogCache expiring = new EventCatalogCache(mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 16, 16, 0);
+        expiring.getEvent(1L, () -> event(1, "Movie"));
+        long version = expiring.getVersion();
+        long lastModified = expiring.getLastModified();
+
+        expiring.getEvent(1L, () -> event(1, "Movie"));
+        assertEquals(version, expiring.getVersion());
+
+        expiring.getEvent(1L, () -> event(1, "Concert"));
+        assertTrue(expiring.getVersion() > version);
+        assertTrue(expiring.getLastModified() > lastModified);
+    }
+}
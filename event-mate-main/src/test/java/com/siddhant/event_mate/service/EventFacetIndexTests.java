@@ -0,0 +1,86 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventFacetDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class EventFacetIndexTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 12, 1);
+
+    private final EventFacetIndex index = new EventFacetIndex(mock(EventService.class), new SimpleMeterRegistry(),
+            List.of(new BigDecimal("250"), new BigDecimal("500")));
+
+    private static EventSnapshot event(long id, String groupId, String category, String venue, String price,
+                                       String movieMode, int fromDay, int toDay) {
+        return new EventSnapshot(id, groupId, "Event " + id, null, venue, category, List.of(),
+                DAY.plusDays(fromDay), DAY.plusDays(toDay), List.of(), new BigDecimal(price), null, movieMode,
+                null);
+    }
+
+    private static List<Long> ids(EventFacetDto.Result result) {
+        return result.getEvents().stream().map(EventSummaryDto::getId).toList();
+    }
+
+    @BeforeEach
+    void load() {
+        index.onCatalogLoaded(List.of(
+                event(1, "g1", "Movie", "PVR", "200", "2D", 0, 0),
+                event(2, "g1", "Movie", "PVR", "200", "2D", 1, 1),
+                event(3, null, "Movie", "INOX", "450", "3D", 0, 6),
+                event(4, null, "Concert", "Stadium", "1500", null, 3, 3),
+                event(5, null, "Comedy", "Club", "300", null, 10, 10)));
+    }
+
+    @Test
+    void intersectsFacetsAndCountsEachFacetUnderTheOthers() {
+        EventFacetDto.Result result = index.filter(EventFacetDto.Filter.builder()
+                .category(List.of("Movie"))
+                .priceBand(List.of("0-250"))
+                .build(), 10);
+
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(1, result.getTotal());
+        // Category counts ignore the category selection but honour the price band
+        assertEquals(Map.of("Movie", 1), result.getFacets().get("category"));
+        // Price counts ignore the price selection: the g1 group and event 3 are movies
+        assertEquals(Map.of("0-250", 1, "250-500", 1), result.getFacets().get("priceBand"));
+        assertEquals(Map.of("2D", 1), result.getFacets().get("movieMode"));
+    }
+
+    @Test
+    void filtersByDateRangeAndValuesWithinAFacetAreAlternatives() {
+        EventFacetDto.Result result = index.filter(EventFacetDto.Filter.builder()
+                .category(List.of("Concert", "Comedy"))
+                .from(DAY.plusDays(2))
+                .to(DAY.plusDays(4))
+                .build(), 10);
+        assertEquals(List.of(4L), ids(result));
+
+        // The second day of group g1 stands in for the group
+        result = index.filter(EventFacetDto.Filter.builder().from(DAY.plusDays(1)).to(DAY.plusDays(1)).build(), 10);
+        assertEquals(List.of(3L, 2L), ids(result));
+    }
+
+    @Test
+    void appliesIncrementalChanges() {
+        index.onEventChanged(3L, event(3, null, "Movie", "INOX", "900", "IMAX", 0, 6));
+        index.onEventChanged(5L, null);
+
+        EventFacetDto.Result result = index.filter(new EventFacetDto.Filter(), 10);
+        assertEquals(List.of(1L, 3L, 4L), ids(result));
+        assertEquals(Map.of("2D", 1, "IMAX", 1), result.getFacets().get("movieMode"));
+        assertEquals(Map.of("0-250", 1, "500+", 2), result.getFacets().get("priceBand"));
+        assertEquals(Map.of("Concert", 1, "Movie", 2), result.getFacets().get("category"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class EventSearchIndexTests {
+
+    private final EventSearchIndex index = new EventSearchIndex(mock(EventService.class), new SimpleMeterRegistry());
+
+    private static EventSnapshot event(long id, String groupId, String title, String category, String venue,
+                                       List<String> cast, String description) {
+        return new EventSnapshot(id, groupId, title, description, venue, category, cast, LocalDate.of(2026, 11, 1),
+                LocalDate.of(2026, 11, 1), List.of(), BigDecimal.TEN, null, null, null);
+    }
+
+    private List<Long> ids(String query, String category) {
+        return index.search(query, category, 10).stream().map(EventSummaryDto::getId).toList();
+    }
+
+    @BeforeEach
+    void load() {
+        index.onCatalogLoaded(List.of(
+                event(1, "g1", "Interstellar", "Movie", "PVR Phoenix", List.of("Matthew McConaughey", "Anne Hathaway"),
+                        "A team travels through a wormhole"),
+                event(2, "g1", "Interstellar", "Movie", "PVR Phoenix", List.of("Matthew McConaughey", "Anne Hathaway"),
+                        "A team travels through a wormhole"),
+                event(3, null, "Coldplay: Music of the Spheres", "Concert", "DY Patil Stadium", List.of("Chris Martin"),
+                        "Stadium tour"),
+                event(4, null, "Stand-up Night", "Comedy", "Canvas Laugh Club", List.of("Zakir Khan"),
+                        "An evening of music-free comedy at the club"),
+                event(5, null, "Café Tales", "Theatre", "Prithvi Theatre", List.of(), "Stories told over coffee")));
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatchesAndCollapsesGroups() {
+        assertEquals(List.of(3L, 4L), ids("music", null));
+        assertEquals(List.of(1L), ids("hathaway", null));
+        assertEquals(List.of(4L), ids("music", "Comedy"));
+    }
+
+    @Test
+    void matchesPrefixesTyposAndAccentFoldedWords() {
+        assertEquals(List.of(1L), ids("inters", null));
+        assertEquals(List.of(3L), ids("coldpaly", null));
+        assertEquals(List.of(5L), ids("cafe", null));
+        // Every term has to match while some event matches them all
+        assertEquals(List.of(3L), ids("chris stadium", null));
+        assertTrue(ids("xyz", null).isEmpty());
+    }
+
+    @Test
+    void appliesIncrementalUpdatesAndDeletes() {
+        index.onEventChanged(4L, event(4, null, "Jazz Night", "Concert", "Blue Frog", List.of(), "Live jazz"));
+        index.onEventChanged(3L, null);
+        index.onEventChanged(6L, event(6, null, "Jazz Brunch", "Food", "Olive", List.of(), "Brunch with a band"));
+
+        assertEquals(List.of(4L, 6L), ids("jazz", null));
+        assertTrue(ids("coldplay", null).isEmpty());
+        assertTrue(ids("zakir", null).isEmpty());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void keepsChangesCommittedWhileTheCatalogIsQueried() {
+        index.onCatalogLoading();
+        // Committed after the reload's query ran, so missing from the catalog it returns
+        index.onEventChanged(6L, event(6, null, "Jazz Brunch", "Food", "Olive", List.of(), "Brunch with a band"));
+        index.onEventChanged(3L, null);
+        index.onCatalogLoaded(List.of(
+                event(3, null, "Coldplay: Music of the Spheres", "Concert", "DY Patil Stadium", List.of("Chris Martin"),
+                        "Stadium tour"),
+                event(4, null, "Stand-up Night", "Comedy", "Canvas Laugh Club", List.of("Zakir Khan"),
+                        "An evening of music-free comedy at the club")));
+
+        assertEquals(List.of(6L), ids("jazz", null));
+        assertTrue(ids("coldplay", null).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
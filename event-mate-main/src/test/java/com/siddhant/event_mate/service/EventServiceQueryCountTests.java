@@ -0,0 +1,192 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventDto;
+import com.siddhant.event_mate.dto.EventSummaryDto;
+import com.siddhant.event_mate.entity.Event;
+import com.siddhant.event_mate.entity.EventSection;
+import com.siddhant.event_mate.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Listing events must cost the same number of statements however many events there are
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({EventService.class, EventCatalogCache.class, EventServiceQueryCountTests.Config.class})
+class EventServiceQueryCountTests {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Event> createEvents(String category, String groupId, int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = Event.builder()
+                    .title(category + " " + (char) ('A' + i % 26) + i)
+                    .category(category)
+                    .groupId(groupId != null ? groupId : UUID.randomUUID().toString())
+                    .startDate(LocalDate.of(2026, 12, 1).plusDays(i % 7))
+                    .endDate(LocalDate.of(2026, 12, 10))
+                    .price(BigDecimal.valueOf(100 + i % 5))
+                    .showTimes(new ArrayList<>(List.of(LocalTime.of(18, 0), LocalTime.of(21, 0))))
+                    .mediaUrls(new ArrayList<>(List.of("https://cdn.test/" + category + i + ".jpg")))
+                    .cast(new ArrayList<>(List.of("Lead " + i, "Support " + i)))
+                    .build();
+            event.setSections(new ArrayList<>(List.of(
+                    EventSection.builder().name("Gold").price(BigDecimal.valueOf(50 + i % 3)).rows(5).cols(10)
+                            .event(event).build(),
+                    EventSection.builder().name("Silver").price(BigDecimal.valueOf(20 + i % 4)).rows(8).cols(12)
+                            .event(event).build())));
+            events.add(eventRepository.save(event));
+        }
+        if (groupId != null) {
+            eventRepository.refreshGroupRepresentatives(null, groupId);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return events;
+    }
+
+    private long statementsFor(Runnable listing) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void listingQueryCountDoesNotGrowWithEventCount() {
+        createEvents("Comedy", "comedy-tour", 3);
+        createEvents("Movie", null, 60);
+
+        long few = statementsFor(() -> assertEquals(3, eventService.getEventsByGroupId("comedy-tour").size()));
+        long many = statementsFor(() -> {
+            var events = eventService.getAllEventsAdmin();
+            assertEquals(63, events.size());
+            assertTrue(events.stream().allMatch(event -> event.getSections().size() == 2
+                    && event.getCast().size() == 2 && event.getShowTimes().size() == 2
+                    && event.getMediaUrls().size() == 1));
+        });
+
+        // The unpaged catalog lists the comedy tour once
+        long unpaged = statementsFor(() -> assertEquals(61, eventService.getUniqueEvents(null).size()));
+
+        // The event query plus one query per collection: show times, media, cast, sections
+        assertEquals(5, few);
+        assertEquals(few, many);
+        assertEquals(few, unpaged);
+    }
+
+    @Test
+    void summaryPagesAreOneQueryAndWalkTheWholeCatalog() {
+        createEvents("Movie", null, 45);
+        createEvents("Comedy", "comedy-tour", 3);
+
+        for (String sort : List.of("date", "title", "price")) {
+            List<EventSummaryDto> seen = new ArrayList<>();
+            String[] cursor = { null };
+            do {
+                long statements = statementsFor(() -> {
+                    EventSummaryDto.Page page = eventService.getEventSummaries(null, sort, cursor[0], 10);
+                    seen.addAll(page.getEvents());
+                    cursor[0] = page.getNextCursor();
+                });
+                assertEquals(1, statements);
+            } while (cursor[0] != null);
+
+            // Comedy is one group, so it contributes a single card
+            assertEquals(46, seen.size());
+            assertEquals(46, seen.stream().map(EventSummaryDto::getId).distinct().count());
+            Comparator<EventSummaryDto> order = switch (sort) {
+                case "date" -> Comparator.comparing(EventSummaryDto::getStartDate);
+                case "title" -> Comparator.comparing(EventSummaryDto::getTitle);
+                default -> Comparator.comparing(EventSummaryDto::getMinPrice);
+            };
+            assertEquals(seen.stream().sorted(order.thenComparing(EventSummaryDto::getId)).toList(), seen);
+        }
+
+        EventSummaryDto.Page comedy = eventService.getEventSummaries("Comedy", "price", null, 10);
+        assertEquals(1, comedy.getEvents().size());
+        assertEquals(0, new BigDecimal("20").compareTo(comedy.getEvents().get(0).getMinPrice()));
+    }
+
+    @Test
+    void groupCardFollowsWritesToTheGroup() {
+        List<Long> tour = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            EventDto created = eventService.createEvent(EventDto.builder()
+                    .title("Tour").category("Comedy")
+                    .startDate(LocalDate.of(2026, 12, 1 + i)).endDate(LocalDate.of(2026, 12, 1 + i))
+                    .showTimes(List.of(LocalTime.of(19, 0))).price(BigDecimal.TEN)
+                    .build());
+            tour.add(created.getId());
+        }
+        assertEquals(tour, comedyCards());
+
+        // Joined into one group in reverse order; the lowest id still becomes the card
+        for (int i = 2; i >= 0; i--) {
+            moveToGroup(tour.get(i), "tour");
+        }
+        assertEquals(List.of(tour.get(0)), comedyCards());
+
+        eventService.deleteEvent(tour.get(0));
+        assertEquals(List.of(tour.get(1)), comedyCards());
+
+        moveToGroup(tour.get(1), "encore");
+        assertEquals(List.of(tour.get(1), tour.get(2)), comedyCards());
+    }
+
+    private void moveToGroup(Long id, String groupId) {
+        EventDto event = eventService.getEventById(id);
+        event.setGroupId(groupId);
+        eventService.updateEvent(id, event);
+    }
+
+    private List<Long> comedyCards() {
+        entityManager.clear();
+        return eventRepository.findSummariesByTitle("Comedy", null, null, 10).stream()
+                .map(EventRepository.EventSummaryView::getId)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.dto.EventSuggestionDto;
+import com.siddhant.event_mate.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSuggestIndexTests {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final EventSuggestIndex index = new EventSuggestIndex(mock(EventService.class), bookingRepository,
+            new SimpleMeterRegistry(), 30, 30);
+
+    private static EventSnapshot event(long id, String groupId, String title, LocalDate date, List<String> cast) {
+        return new EventSnapshot(id, groupId, title, null, "Venue", "Movie", cast, date, date,
+                List.of(LocalTime.of(18, 0)), BigDecimal.TEN, null, null, null);
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, 10).stream().map(EventSuggestionDto::getText).toList();
+    }
+
+    @Test
+    void suggestsTitlesAndCastFromAnyWordStartRankedByUpcomingShows() {
+        LocalDate today = LocalDate.now();
+        index.onCatalogLoaded(List.of(
+                event(1, "g1", "The Dark Knight", today.plusDays(1), List.of("Christian Bale")),
+                event(2, "g1", "The Dark Knight", today.plusDays(2), List.of("Christian Bale")),
+                event(3, null, "Dark Waters", today.minusDays(5), List.of("Mark Ruffalo")),
+                event(4, null, "Chris Rock Live", today.plusDays(3), List.of())));
+
+        assertEquals(List.of("The Dark Knight", "Dark Waters"), texts("dark"));
+        assertEquals(List.of("The Dark Knight"), texts("KNI"));
+        assertEquals(List.of("Christian Bale", "Chris Rock Live"), texts("chris"));
+        assertEquals(List.of("Mark Ruffalo"), texts("ruff"));
+        assertEquals(List.of("Chris Rock Live"), texts("chris "));
+        assertTrue(texts("zz").isEmpty());
+
+        EventSuggestionDto title = index.suggest("the dark", 10).get(0);
+        assertEquals(EventSuggestionDto.Kind.TITLE, title.getKind());
+        assertEquals(1L, title.getEventId());
+    }
+
+    @Test
+    void ticketSalesAndEventChangesApplyOnTheNextRebuild() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        index.onCatalogLoaded(List.of(
+                event(1, null, "Avatar", date, List.of()),
+                event(2, null, "Avengers", date, List.of())));
+        assertEquals(List.of("Avatar", "Avengers"), texts("av"));
+
+        BookingRepository.EventTicketCount sold = mock(BookingRepository.EventTicketCount.class);
+        when(sold.getEventId()).thenReturn(2L);
+        when(sold.getTickets()).thenReturn(40L);
+        when(bookingRepository.countTicketsSoldByEvent(any())).thenReturn(List.of(sold));
+        index.refreshPopularity();
+        index.onEventChanged(1L, null);
+        index.onEventChanged(3L, event(3, null, "Aviator", date, List.of()));
+        assertEquals(List.of("Avatar", "Avengers"), texts("av"));
+
+        index.rebuildIfDirty();
+        assertEquals(List.of("Avengers", "Aviator"), texts("av"));
+    }
+}
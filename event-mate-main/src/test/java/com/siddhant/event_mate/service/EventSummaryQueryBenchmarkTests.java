@@ -0,0 +1,107 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// First catalog page at 100k events: MIN(id) GROUP BY group_id on every call versus the
+// maintained group_representative flag. Run with -Dbenchmark=true (and -Dbenchmark.events=n
+// for another size); H2 stands in for Postgres.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // Otherwise H2 answers a repeated query from its result cache
+        "spring.datasource.url=jdbc:h2:mem:benchmark;OPTIMIZE_REUSE_RESULTS=FALSE"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventSummaryQueryBenchmarkTests {
+
+    // Three quarters of the events are dates of three-date groups, the rest ungrouped
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 100_000);
+    private static final int DATES_PER_GROUP = 3;
+    private static final int GROUPS = EVENTS / 4;
+    private static final int UNGROUPED = EVENTS - GROUPS * DATES_PER_GROUP;
+
+    // The listing before group_representative
+    private static final String GROUP_BY_SELECT = EventRepository.SUMMARY_SELECT.replace("AND e.group_representative",
+            "AND (e.group_id IS NULL OR e.id IN "
+                    + "(SELECT MIN(e2.id) FROM events e2 WHERE e2.group_id IS NOT NULL GROUP BY e2.group_id))");
+    private static final String FIRST_PAGE = "(v.startDate, v.id) > (CAST(:afterDate AS DATE), CAST(:afterId AS BIGINT)) "
+            + "ORDER BY v.startDate, v.id LIMIT 100";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void firstCatalogPage() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        LocalDate first = LocalDate.of(2026, 12, 1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int group = 0; group < GROUPS; group++) {
+            for (int date = 0; date < DATES_PER_GROUP; date++) {
+                Date day = Date.valueOf(first.plusDays((group + date) % 365));
+                rows.add(new Object[]{"Show " + group, day, day, 100, "Movie", "group-" + group});
+            }
+        }
+        for (int i = 0; i < UNGROUPED; i++) {
+            Date day = Date.valueOf(first.plusDays(i % 365));
+            rows.add(new Object[]{"Single " + i, day, day, 100, "Concert", null});
+        }
+        jdbc.batchUpdate("INSERT INTO events (title, start_date, end_date, price, category, group_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        jdbc.execute("CREATE INDEX idx_events_group_id_id ON events(group_id, id)");
+        jdbc.execute("CREATE INDEX idx_events_catalog_date ON events(group_representative, start_date, id)");
+        jdbc.update("UPDATE events e SET group_representative = FALSE WHERE e.group_id IS NOT NULL "
+                + "AND e.id <> (SELECT MIN(e2.id) FROM events e2 WHERE e2.group_id = e.group_id)");
+        entityManager.clear();
+
+        long groupBy = medianNanos(() -> firstPage(GROUP_BY_SELECT));
+        long flag = medianNanos(() -> firstPage(EventRepository.SUMMARY_SELECT));
+
+        assertEquals(firstPage(GROUP_BY_SELECT), firstPage(EventRepository.SUMMARY_SELECT));
+        System.out.printf("First catalog page of %d events: MIN(id) GROUP BY %.2f ms, "
+                        + "group_representative %.2f ms%n", rows.size(), groupBy / 1e6, flag / 1e6);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> firstPage(String select) {
+        return entityManager.createNativeQuery("SELECT id FROM (" + select + FIRST_PAGE + ") page")
+                .setParameter("category", null)
+                .setParameter("afterDate", null)
+                .setParameter("afterId", null)
+                .getResultList();
+    }
+
+    private static long medianNanos(Supplier<?> query) {
+        query.get();
+        long[] samples = new long[5];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
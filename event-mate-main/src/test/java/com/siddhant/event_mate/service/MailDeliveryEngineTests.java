@@ -0,0 +1,115 @@
+package com.siddhant.event_mate.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDeliveryEngineTests {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private static SimpleMailMessage message(int i) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@eventmate.test");
+        message.setTo("user" + i + "@eventmate.test");
+        message.setSubject("Booking " + i);
+        message.setText("Seats for booking " + i);
+        return message;
+    }
+
+    @Test
+    void deliversQueuedMessagesInBatches() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MailDeliveryEngine engine = new MailDeliveryEngine(sender(smtp.getSmtp().getPort()), registry, 100, 2, 10, 500);
+        engine.start();
+        try {
+            List<CompletableFuture<Void>> results = IntStream.range(0, 25)
+                    .mapToObj(i -> engine.submit(message(i)))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(25, smtp.getReceivedMessages().length);
+            assertEquals(0, registry.counter("email.engine.failures").count());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void failsMessagesWhenServerIsUnreachable() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MailDeliveryEngine engine = new MailDeliveryEngine(sender(1), registry, 10, 1, 10, 500);
+        engine.start();
+        try {
+            CompletableFuture<Void> result = engine.submit(message(1));
+
+            assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertEquals(1, registry.counter("email.engine.failures").count());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JavaMailSenderImpl blocked = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... messages) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        MailDeliveryEngine engine = new MailDeliveryEngine(blocked, registry, 1, 1, 10, 10);
+        engine.start();
+        try {
+            CompletableFuture<Void> first = engine.submit(message(1));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> queued = engine.submit(message(2));
+            CompletableFuture<Void> overflow = engine.submit(message(3));
+
+            ExecutionException e = assertThrows(ExecutionException.class, overflow::get);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            assertEquals(1, registry.counter("email.engine.rejected").count());
+
+            release.countDown();
+            CompletableFuture.allOf(first, queued).get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            engine.stop();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.siddhant.event_mate.service;
+
+import com.siddhant.event_mate.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class SeatHoldServiceTests {
+
+    private static final LocalDateTime SHOW = LocalDateTime.of(2026, 11, 20, 19, 30);
+
+    private SeatHoldService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SeatHoldService(mock(SeatInventoryService.class));
+        ReflectionTestUtils.setField(service, "ttlMinutes", 10L);
+        ReflectionTestUtils.setField(service, "maxSeats", 10);
+        ReflectionTestUtils.setField(service, "maxHoldsPerShow", 2);
+    }
+
+    private static List<SeatInventoryService.Seat> seat(int col) {
+        return List.of(new SeatInventoryService.Seat(7L, 1, col));
+    }
+
+    @Test
+    void capsActiveHoldsPerOwnerAndShow() {
+        SeatHoldService.SeatHold first = service.register("fan@eventmate.test", 1L, SHOW, seat(1));
+        service.register("fan@eventmate.test", 1L, SHOW, seat(2));
+
+        assertThrows(TooManyRequestsException.class,
+                () -> service.register("fan@eventmate.test", 1L, SHOW, seat(3)));
+
+        // Other shows and other users are unaffected, and a released hold frees a slot
+        service.register("fan@eventmate.test", 1L, SHOW.plusDays(1), seat(3));
+        service.register("other@eventmate.test", 1L, SHOW, seat(3));
+        service.cancel(first.id(), "fan@eventmate.test");
+        service.register("fan@eventmate.test", 1L, SHOW, seat(4));
+    }
+}
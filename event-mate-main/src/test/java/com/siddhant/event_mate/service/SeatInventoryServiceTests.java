@@ -0,0 +1,102 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.EventSection;
+import com.siddhant.event_mate.repository.EventSectionRepository;
+import com.siddhant.event_mate.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryServiceTests {
+
+    private static SeatInventoryService.ShowSeats show(EventSection... sections) {
+        return new SeatInventoryService.ShowSeats(SectionGrid.forSections(List.of(sections), new ObjectMapper()));
+    }
+
+    private static EventSection section(long id, String name, int rows, int cols, String layoutConfig) {
+        return EventSection.builder().id(id).name(name).price(BigDecimal.TEN).rows(rows).cols(cols)
+                .layoutConfig(layoutConfig).build();
+    }
+
+    @Test
+    void claimIsAllOrNothing() {
+        SeatInventoryService.ShowSeats show = show(section(1L, "Gold", 5, 10, null));
+        SeatInventoryService.Seat a = new SeatInventoryService.Seat(1L, 2, 3);
+        SeatInventoryService.Seat b = new SeatInventoryService.Seat(1L, 2, 4);
+
+        assertTrue(show.tryClaim(List.of(a)).isEmpty());
+        assertEquals(List.of(a), show.tryClaim(List.of(b, a)));
+        assertFalse(show.isTaken(1L, 2, 4));
+        assertEquals(49, show.remaining(1L));
+
+        assertTrue(show.release(List.of(a)));
+        assertEquals(50, show.remaining(1L));
+    }
+
+    @Test
+    void bestAvailablePicksCentredBlockOnMiddleRow() {
+        SeatInventoryService.ShowSeats show = show(section(1L, "Gold", 5, 10, null));
+
+        List<SeatInventoryService.Seat> seats = show.claimBestAvailable(1L, 4, null);
+
+        assertEquals(List.of(new SeatInventoryService.Seat(1L, 3, 4), new SeatInventoryService.Seat(1L, 3, 5),
+                new SeatInventoryService.Seat(1L, 3, 6), new SeatInventoryService.Seat(1L, 3, 7)), seats);
+        assertEquals(46, show.remaining(1L));
+    }
+
+    @Test
+    void bestAvailableSkipsGapsAndOtherTiers() {
+        // One row: VIP, VIP, gap, Standard, Standard, Standard
+        String config = "{\"strategy\":\"advanced\",\"tiers\":[{\"id\":\"t1\",\"name\":\"Standard\"},"
+                + "{\"id\":\"t2\",\"name\":\"VIP\"}],\"grid\":[[{\"t\":\"t2\",\"g\":0},{\"t\":\"t2\",\"g\":0},"
+                + "{\"t\":\"t1\",\"g\":1},{\"t\":\"t1\",\"g\":0},{\"t\":\"t1\",\"g\":0},{\"t\":\"t1\",\"g\":0}]]}";
+        SeatInventoryService.ShowSeats show = show(section(1L, "Standard", 0, 0, config),
+                section(2L, "VIP", 0, 0, null));
+
+        assertEquals(3, show.grid(1L).capacity());
+        assertEquals(2, show.grid(2L).capacity());
+        assertTrue(show.claimBestAvailable(2L, 3, null).isEmpty());
+        assertEquals(List.of(new SeatInventoryService.Seat(1L, 1, 4), new SeatInventoryService.Seat(1L, 1, 5),
+                new SeatInventoryService.Seat(1L, 1, 6)), show.claimBestAvailable(1L, 3, null));
+    }
+
+    @Test
+    void freesSeatsTheTicketsTableNoLongerBacksBeforeReportingConflicts() {
+        TicketRepository tickets = mock(TicketRepository.class);
+        EventSectionRepository sections = mock(EventSectionRepository.class);
+        when(sections.findByEventIdOrderByIdAsc(1L)).thenReturn(List.of(section(1L, "Gold", 1, 4, null)));
+        TicketRepository.SeatCoordinates sold = mock(TicketRepository.SeatCoordinates.class);
+        when(sold.getSectionId()).thenReturn(1L);
+        when(sold.getRowNumber()).thenReturn(1);
+        when(sold.getColNumber()).thenReturn(1);
+        TicketRepository.SeatCoordinates reaped = mock(TicketRepository.SeatCoordinates.class);
+        when(reaped.getSectionId()).thenReturn(1L);
+        when(reaped.getRowNumber()).thenReturn(1);
+        when(reaped.getColNumber()).thenReturn(2);
+        LocalDateTime showDate = LocalDateTime.of(2026, 11, 20, 19, 30);
+        when(tickets.findTakenSeats(1L, showDate)).thenReturn(List.of(sold, reaped));
+        SeatInventoryService inventory = new SeatInventoryService(tickets, sections, new ObjectMapper());
+        assertEquals(2, inventory.getShow(1L, showDate).remaining(1L));
+
+        // Another instance has since cancelled the booking of seat 2
+        when(tickets.findSeatCoordinatesIn(eq(1L), eq(showDate), any(), any(), any(), any()))
+                .thenReturn(List.of(sold));
+        SeatInventoryService.Seat first = new SeatInventoryService.Seat(1L, 1, 1);
+        SeatInventoryService.Seat second = new SeatInventoryService.Seat(1L, 1, 2);
+
+        assertTrue(inventory.claim(1L, showDate, List.of(second)).isEmpty());
+        assertEquals(List.of(first), inventory.claim(1L, showDate, List.of(first)));
+        assertEquals(2, inventory.getShow(1L, showDate).remaining(1L));
+    }
+}
@@ -0,0 +1,107 @@
+package com.siddhant.event_mate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siddhant.event_mate.entity.EventSection;
+import com.siddhant.event_mate.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatStreamServiceTests {
+
+    private static final LocalDateTime SHOW = LocalDateTime.of(2026, 11, 20, 19, 30);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SeatInventoryService inventory = mock(SeatInventoryService.class);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private SeatStreamService service;
+    private SeatInventoryService.SeatChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        EventSection section = EventSection.builder().id(7L).name("Gold").price(BigDecimal.TEN).rows(5).cols(10).build();
+        SeatInventoryService.ShowSeats seats = new SeatInventoryService.ShowSeats(
+                SectionGrid.forSections(List.of(section), new ObjectMapper()));
+        // The first subscriber's snapshot write hangs, as it would on a client that stopped reading
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(inventory.getShow(1L, SHOW)).thenAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                unblock.await(5, TimeUnit.SECONDS);
+            }
+            return seats;
+        });
+
+        service = new SeatStreamService(inventory, new ObjectMapper(), registry);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(service, "maxPerClient", 2);
+        ReflectionTestUtils.setField(service, "maxPerShow", 3);
+        ReflectionTestUtils.setField(service, "dispatchThreads", 1);
+        ReflectionTestUtils.setField(service, "dispatchQueue", 100);
+        ReflectionTestUtils.setField(service, "writerThreads", 2);
+        ReflectionTestUtils.setField(service, "maxPending", 4);
+        service.init();
+        ArgumentCaptor<SeatInventoryService.SeatChangeListener> captor =
+                ArgumentCaptor.forClass(SeatInventoryService.SeatChangeListener.class);
+        verify(inventory).addChangeListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void closesTheSubscriberThatFallsBehindWithoutHoldingUpTheOthers() throws InterruptedException {
+        service.subscribe(1L, SHOW, "address:10.0.0.1");
+        service.subscribe(1L, SHOW, "address:10.0.0.2");
+        verify(inventory, timeout(2000).times(2)).getShow(1L, SHOW);
+
+        SeatInventoryService.ShowKey key = new SeatInventoryService.ShowKey(1L, SHOW);
+        for (int col = 1; col <= 5; col++) {
+            listener.onSeatsChanged(key, true, List.of(new SeatInventoryService.Seat(7L, 1, col)), col);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (registry.get("booking.seat-stream.dropped").counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, registry.get("booking.seat-stream.dropped").counter().count());
+        assertEquals(1, ((AtomicInteger) ReflectionTestUtils.getField(service, "subscriberCount")).get());
+    }
+
+    @Test
+    void limitsStreamsPerClientAndPerShow() {
+        service.subscribe(1L, SHOW, "address:10.0.0.1");
+        service.subscribe(1L, SHOW, "address:10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> service.subscribe(1L, SHOW, "address:10.0.0.1"));
+
+        service.subscribe(1L, SHOW, "user:fan@eventmate.test");
+        assertThrows(TooManyRequestsException.class, () -> service.subscribe(1L, SHOW, "address:10.0.0.2"));
+
+        // A rejected show does not use up the client's allowance elsewhere
+        service.subscribe(2L, SHOW, "address:10.0.0.2");
+        service.subscribe(2L, SHOW, "address:10.0.0.2");
+    }
+}